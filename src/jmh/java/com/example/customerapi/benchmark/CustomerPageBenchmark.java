@@ -0,0 +1,99 @@
+package com.example.customerapi.benchmark;
+
+import com.example.customerapi.CustomerapiApplication;
+import com.example.customerapi.dto.CustomerView;
+import com.example.customerapi.entity.Customer;
+import com.example.customerapi.service.CustomerService;
+import com.example.customerapi.support.CustomerWorkbooks;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading, serializing and exporting a 1000-customer page against an in-memory H2 database
+ * seeded once per fork (500 customers with one family member each).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerPageBenchmark {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private ObjectMapper objectMapper;
+    private TransactionTemplate readOnlyTransaction;
+    private List<CustomerView> viewPage;
+
+    @Setup
+    public void startApplication() throws IOException {
+        context = new SpringApplicationBuilder(CustomerapiApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN")
+            .run();
+        customerService = context.getBean(CustomerService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        customerService.bulkCreateCustomers(CustomerWorkbooks.customers(1, PAGE_SIZE / 2, true));
+        viewPage = customerService.getCustomerViews(0, PAGE_SIZE);
+    }
+
+    @TearDown
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * Entity page: id page, fetch joins and the merge of the partial results.
+     */
+    @Benchmark
+    public List<Customer> entityPage() {
+        return readOnlyTransaction.execute(status -> customerService.getAllCustomersPaginated(0, PAGE_SIZE));
+    }
+
+    /**
+     * Projection page as served by /list.
+     */
+    @Benchmark
+    public List<CustomerView> viewPage() {
+        return customerService.getCustomerViews(0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public byte[] serializeViewPage() throws IOException {
+        return objectMapper.writeValueAsBytes(viewPage);
+    }
+
+    @Benchmark
+    public void writeTemplate() {
+        customerService.writeCustomerTemplate(OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.customerapi.benchmark;
+
+import com.example.customerapi.CustomerapiApplication;
+import com.example.customerapi.dto.CustomerSuggestion;
+import com.example.customerapi.dto.CustomerView;
+import com.example.customerapi.search.CustomerSearchIndex;
+import com.example.customerapi.service.CustomerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Customer search and type-ahead against an in-memory H2 database of {@code customers} customers
+ * with one mobile number each, inserted with plain SQL once per fork. {@code searchIndex} switches
+ * the in-memory prefix index on or off; with it off, suggestions come from the same indexed
+ * prefix queries as search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class CustomerSearchBenchmark {
+
+    private static final int LIMIT = 20;
+
+    @Param("1000000")
+    public int customers;
+
+    @Param({"false", "true"})
+    public boolean searchIndex;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+
+    @Setup
+    public void startApplication() {
+        context = new SpringApplicationBuilder(CustomerapiApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:jmh-search;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN",
+                "logging.level.org.hibernate.SQL=WARN",
+                "customerapi.search.index.enabled=" + searchIndex)
+            .run();
+        customerService = context.getBean(CustomerService.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO customers (id, name, date_of_birth, nic_number, created_at, updated_at) " +
+            "SELECT X, 'Customer ' || X, DATE '1990-01-01', LPAD(X, 9, '0') || 'V', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP " +
+            "FROM SYSTEM_RANGE(1, ?)", customers);
+        jdbcTemplate.update("INSERT INTO mobile_numbers (id, number, customer_id) " +
+            "SELECT X, '+9477' || LPAD(X, 7, '0'), X FROM SYSTEM_RANGE(1, ?)", customers);
+        context.getBean(CustomerSearchIndex.class).rebuild();
+    }
+
+    @TearDown
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * 111 customers start with this name; the first 20 in name order are returned.
+     */
+    @Benchmark
+    public List<CustomerView> searchByNamePrefix() {
+        return customerService.searchCustomers("Customer 4711", null, null, LIMIT);
+    }
+
+    @Benchmark
+    public List<CustomerView> searchByNic() {
+        return customerService.searchCustomers(null, "000471100V", null, LIMIT);
+    }
+
+    @Benchmark
+    public List<CustomerView> searchByMobileNumberPrefix() {
+        return customerService.searchCustomers(null, null, "+94770047", LIMIT);
+    }
+
+    @Benchmark
+    public List<CustomerSuggestion> suggest() {
+        return customerService.suggestCustomers("customer 4711", 10);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.customerapi.importer;
+
+import com.example.customerapi.csv.CsvRowReader;
+import com.example.customerapi.entity.Customer;
+import com.example.customerapi.excel.CustomerTemplate;
+import com.example.customerapi.excel.StreamingSheetReader;
+import com.example.customerapi.support.CustomerWorkbooks;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-row import work that does not touch the database: decoding xlsx or CSV cells and
+ * turning a row into an unsaved customer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImportParsingBenchmark {
+
+    private static final int SHEET_ROWS = 10_000;
+
+    private final String[] row = {
+        "Customer 1", "1990-01-01", "000000001V", "+94770000001", "1 Main Street", "",
+        "London", "United Kingdom", "UK", "Family 1", "1960-05-20", "900000001V"
+    };
+
+    private Path sheet;
+    private Path csv;
+
+    @Setup
+    public void writeFiles() throws IOException {
+        sheet = Files.createTempFile("import-benchmark-", ".xlsx");
+        try (InputStream in = CustomerWorkbooks.customers(1, SHEET_ROWS, true).getInputStream()) {
+            Files.copy(in, sheet, StandardCopyOption.REPLACE_EXISTING);
+        }
+        csv = Files.createTempFile("import-benchmark-", ".csv");
+        try (InputStream in = CustomerWorkbooks.customersCsv(1, SHEET_ROWS, true).getInputStream()) {
+            Files.copy(in, csv, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @TearDown
+    public void deleteFiles() throws IOException {
+        Files.deleteIfExists(sheet);
+        Files.deleteIfExists(csv);
+    }
+
+    @Benchmark
+    public Customer processCustomerRow() {
+        return CustomerImporter.processCustomerRow(row);
+    }
+
+    /**
+     * One operation reads the whole 10,000-row sheet.
+     */
+    @Benchmark
+    public void readSheet(Blackhole blackhole) throws IOException {
+        new StreamingSheetReader(CustomerTemplate.COLUMN_COUNT).read(sheet.toFile(),
+            (rowNum, cells) -> blackhole.consume(cells));
+    }
+
+    /**
+     * One operation reads the same 10,000 rows from CSV.
+     */
+    @Benchmark
+    public void readCsv(Blackhole blackhole) throws IOException {
+        new CsvRowReader(CustomerTemplate.COLUMN_COUNT).read(csv, (rowNum, cells) -> blackhole.consume(cells));
+    }
+}
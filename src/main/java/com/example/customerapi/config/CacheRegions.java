@@ -0,0 +1,26 @@
+package com.example.customerapi.config;
+
+/**
+ * Names of the Hibernate second-level cache regions, shared by the entity mappings and
+ * {@link SecondLevelCacheConfig}, which creates them.
+ */
+public final class CacheRegions {
+
+    public static final String COUNTRIES = "countries";
+    public static final String CITIES = "cities";
+
+    public static final String CUSTOMERS = "customers";
+    public static final String CUSTOMER_MOBILE_NUMBERS = "customers.mobileNumbers";
+    public static final String CUSTOMER_ADDRESSES = "customers.addresses";
+    public static final String CUSTOMER_FAMILY_MEMBERS = "customers.familyMembers";
+    public static final String CUSTOMER_FAMILY_OF = "customers.familyOf";
+    public static final String MOBILE_NUMBERS = "mobileNumbers";
+    public static final String ADDRESSES = "addresses";
+
+    // Hibernate's default region names for the query cache
+    public static final String QUERY_RESULTS = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    private CacheRegions() {
+    }
+}
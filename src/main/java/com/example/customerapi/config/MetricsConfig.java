@@ -0,0 +1,30 @@
+package com.example.customerapi.config;
+
+import com.example.customerapi.sql.SqlStatementBudgetFilter;
+import com.example.customerapi.sql.SqlStatementListener;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Makes {@code @Timed} work on Spring beans (e.g. every {@code CustomerService} method).
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    /**
+     * Feeds per-request SQL statement counts to {@link SqlStatementBudgetFilter}.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementListener() {
+        return properties -> properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlStatementListener.class.getName());
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.customerapi.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Keeps the EntityManager open for the whole request, as Spring Boot's
+ * {@code spring.jpa.open-in-view} does, except on streamed downloads. Spring has Hibernate hold
+ * a connection from first use until the EntityManager closes, which for a streamed body is when
+ * the client has read the last byte. The list stream and the template read in short transactions
+ * of their own instead, each returning its connection to the pool between chunks. The export
+ * scrolls one cursor in a stateless session and does hold a connection for its whole response;
+ * {@code customerapi.export.max-concurrent} bounds how many it takes. Replaces Boot's interceptor,
+ * so {@code spring.jpa.open-in-view} is off.
+ */
+@Configuration
+public class OpenEntityManagerInViewConfig implements WebMvcConfigurer {
+
+    private static final String[] STREAMED_PATHS = {
+        "/api/customers/list/stream", "/api/customers/export", "/api/customers/bulk/template"
+    };
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public OpenEntityManagerInViewConfig(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+        registry.addWebRequestInterceptor(interceptor).excludePathPatterns(STREAMED_PATHS);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.customerapi.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * In-process Hibernate second-level cache: JCache backed by Caffeine. Every region is bounded
+ * (size-based eviction, Caffeine's W-TinyLFU) and expires entries a fixed time after they were
+ * written; both limits are set per group of regions in {@code application.properties}.
+ *
+ * The cache only sees changes made through Hibernate, so rows changed directly in the database
+ * stay stale until their entries expire.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${customerapi.second-level-cache.reference-data.ttl:24h}") Duration referenceDataTtl,
+            @Value("${customerapi.second-level-cache.reference-data.max-entries:10000}") long referenceDataMaxEntries,
+            @Value("${customerapi.second-level-cache.customers.ttl:10m}") Duration customersTtl,
+            @Value("${customerapi.second-level-cache.customers.max-entries:100000}") long customersMaxEntries,
+            @Value("${customerapi.second-level-cache.queries.ttl:1h}") Duration queriesTtl,
+            @Value("${customerapi.second-level-cache.queries.max-entries:10000}") long queriesMaxEntries) {
+        // A manager of our own per application context, so contexts never see each other's rows
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager(URI.create("customerapi-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        createRegion(cacheManager, CacheRegions.COUNTRIES, referenceDataTtl, referenceDataMaxEntries);
+        createRegion(cacheManager, CacheRegions.CITIES, referenceDataTtl, referenceDataMaxEntries);
+
+        for (String region : new String[] {
+                CacheRegions.CUSTOMERS, CacheRegions.CUSTOMER_MOBILE_NUMBERS, CacheRegions.CUSTOMER_ADDRESSES,
+                CacheRegions.CUSTOMER_FAMILY_MEMBERS, CacheRegions.CUSTOMER_FAMILY_OF,
+                CacheRegions.MOBILE_NUMBERS, CacheRegions.ADDRESSES}) {
+            createRegion(cacheManager, region, customersTtl, customersMaxEntries);
+        }
+
+        createRegion(cacheManager, CacheRegions.QUERY_RESULTS, queriesTtl, queriesMaxEntries);
+        // Must outlive every cached query result, so it is neither bounded nor expired
+        createRegion(cacheManager, CacheRegions.UPDATE_TIMESTAMPS, null, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManager(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static void createRegion(CacheManager cacheManager, String region, Duration ttl, Long maxEntries) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStatisticsEnabled(true);
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        if (maxEntries != null) {
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        }
+        cacheManager.createCache(region, configuration);
+    }
+}
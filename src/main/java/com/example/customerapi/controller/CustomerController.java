@@ -1,20 +1,42 @@
 package com.example.customerapi.controller;
 
+import com.example.customerapi.dto.BulkDeleteReport;
+import com.example.customerapi.dto.BulkDeleteRequest;
+import com.example.customerapi.dto.BulkUpdateReport;
 import com.example.customerapi.dto.CustomerCreateRequest;
+import com.example.customerapi.dto.CustomerSuggestion;
+import com.example.customerapi.dto.CustomerView;
 import com.example.customerapi.entity.Customer;
 import com.example.customerapi.service.CustomerService;
+import com.example.customerapi.service.MobileNumberConflictException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/customers")
@@ -22,47 +44,283 @@ import java.util.Map;
 @Tag(name = "Customer Management", description = "APIs for managing customers")
 public class CustomerController {
 
+    private static final int STREAM_CHUNK_SIZE = 500;
+
+    private static final int MAX_SEARCH_LIMIT = 100;
+
     private final CustomerService customerService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public CustomerController(CustomerService customerService) {
+    public CustomerController(CustomerService customerService, ObjectMapper objectMapper) {
         this.customerService = customerService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping(value = "/create", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    @Operation(summary = "Create a new customer")
+    @Operation(summary = "Create a new customer",
+               description = "409 with one conflict per mobile number that is listed twice or belongs to another customer")
     public ResponseEntity<Customer> createCustomer(@RequestBody CustomerCreateRequest request) {
         return ResponseEntity.ok(customerService.createCustomer(request));
     }
 
     @GetMapping(value = "/list", produces = MediaType.APPLICATION_JSON_VALUE)
-    @Operation(summary = "Get all customers (paginated)")
+    @Operation(summary = "Get all customers (paginated)",
+               description = "Pass cursor (empty for the first page, then the returned nextCursor) to page by id instead of by offset. " +
+                             "total=cached (default) reports the in-memory customer count, total=exact counts the table, " +
+                             "total=none leaves totalCount and totalPages out. " +
+                             "Send the returned ETag as If-None-Match to get 304 while no customer has changed")
     public ResponseEntity<Map<String, Object>> getAllCustomers(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "1000") int size) {
-        List<Customer> customers = customerService.getAllCustomersPaginated(page, size);
-        long totalCount = customerService.getTotalCustomerCount();
-        int totalPages = (int) Math.ceil((double) totalCount / size);
+            @RequestParam(defaultValue = "1000") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "cached") String total,
+            WebRequest webRequest) {
+        TotalCount totalMode = TotalCount.fromParameter(total);
+        String eTag = listETag(customerService.getCustomerListVersion());
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        Long totalCount = switch (totalMode) {
+            case CACHED -> customerService.getCachedCustomerCount();
+            case EXACT -> customerService.getTotalCustomerCount();
+            case NONE -> null;
+        };
+        if (cursor != null) {
+            return withETag(eTag, getCustomersByCursor(cursor, page, size, totalCount));
+        }
         
-        return ResponseEntity.ok(Map.of(
-            "customers", customers,
-            "totalCount", totalCount,
-            "currentPage", page,
-            "pageSize", size,
-            "totalPages", totalPages,
-            "hasNext", page < totalPages - 1,
-            "hasPrevious", page > 0
-        ));
+        List<CustomerView> customers = customerService.getCustomerViews(page, size);
+        
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("customers", customers);
+        putTotals(response, totalCount, size);
+        response.put("currentPage", page);
+        response.put("pageSize", size);
+        // Without a total, a full page is the only hint that another one may follow
+        response.put("hasNext", totalCount != null ? page < totalPages(totalCount, size) - 1 : customers.size() == size);
+        response.put("hasPrevious", page > 0);
+        return withETag(eTag, response);
+    }
+
+    private Map<String, Object> getCustomersByCursor(String cursor, int page, int size, Long totalCount) {
+        Long afterId = decodeCursor(cursor);
+        // One extra row tells us whether there is a next page without another query
+        List<CustomerView> customers = customerService.getCustomerViewsAfter(afterId, size + 1);
+        boolean hasNext = customers.size() > size;
+        if (hasNext) {
+            customers = customers.subList(0, size);
+        }
+        
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("customers", customers);
+        putTotals(response, totalCount, size);
+        response.put("currentPage", page);
+        response.put("pageSize", size);
+        response.put("hasNext", hasNext);
+        response.put("hasPrevious", afterId != null);
+        response.put("nextCursor", hasNext ? encodeCursor(customers.get(customers.size() - 1).id()) : null);
+        return response;
+    }
+
+    private static void putTotals(Map<String, Object> response, Long totalCount, int size) {
+        if (totalCount != null) {
+            response.put("totalCount", totalCount);
+            response.put("totalPages", totalPages(totalCount, size));
+        }
+    }
+
+    private static int totalPages(long totalCount, int size) {
+        return (int) Math.ceil((double) totalCount / size);
+    }
+
+    private enum TotalCount {
+        CACHED, EXACT, NONE;
+
+        static TotalCount fromParameter(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "total must be cached, exact or none");
+            }
+        }
+    }
+
+    @GetMapping(value = "/list/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Stream customers as they are read",
+               description = "Writes customers in id order while reading them in chunks, so large pages or a whole-table " +
+                             "dump (no size) start immediately and use constant memory. Pass the returned nextCursor to continue")
+    public ResponseEntity<StreamingResponseBody> streamCustomers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        if (size != null && size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be positive");
+        }
+        Long afterId = cursor == null ? null : decodeCursor(cursor);
+        String eTag = listETag(customerService.getCustomerListVersion());
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        StreamingResponseBody body = outputStream -> writeCustomers(afterId, size, outputStream);
+        return ResponseEntity.ok()
+            .eTag(eTag)
+            .cacheControl(CacheControl.noCache())
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(body);
+    }
+
+    /**
+     * Writes {@code {"customers": [...], "count": n, "nextCursor": ...}}, reading at most
+     * {@value #STREAM_CHUNK_SIZE} customers at a time and flushing after every chunk. Each chunk is
+     * its own short read, so no connection is held open while a slow client drains the response.
+     */
+    private void writeCustomers(Long afterId, Integer size, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("customers");
+
+            long written = 0;
+            Long lastId = afterId;
+            boolean hasNext = false;
+            while (!hasNext) {
+                // Ask for one row past the requested size to know whether there is a next page
+                int chunkSize = size == null ? STREAM_CHUNK_SIZE : (int) Math.min(STREAM_CHUNK_SIZE, size - written + 1);
+                List<CustomerView> chunk = customerService.getCustomerViewsAfter(lastId, chunkSize);
+                for (CustomerView customer : chunk) {
+                    if (size != null && written == size) {
+                        hasNext = true;
+                        break;
+                    }
+                    generator.writeObject(customer);
+                    written++;
+                    lastId = customer.id();
+                }
+                generator.flush();
+                if (chunk.size() < chunkSize) {
+                    break;
+                }
+            }
+
+            generator.writeEndArray();
+            generator.writeNumberField("count", written);
+            generator.writeStringField("nextCursor", hasNext ? encodeCursor(lastId) : null);
+            generator.writeEndObject();
+        }
+    }
+
+    private static String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(("id:" + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodeCursor(String cursor) {
+        if (cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith("id:")) {
+                throw new IllegalArgumentException(decoded);
+            }
+            return Long.valueOf(decoded.substring(3));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Strong ETag of a list page: the customer list version, read by primary key. Every instance
+     * writing to the database moves it on, so they all agree on the ETag, and a matching
+     * If-None-Match costs no scan of the customers table, entity loading or serialization.
+     */
+    private static String listETag(long version) {
+        return "\"list-" + version + "\"";
+    }
+
+    /**
+     * Strong ETag of a single customer: id and the latest update of the customer or of any family
+     * member embedded in its representation.
+     */
+    private static String customerETag(Long id, LocalDateTime lastModified) {
+        return "\"" + id + "-" + toEpochMicros(lastModified) + "\"";
+    }
+
+    private static long toEpochMicros(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return 0;
+        }
+        Instant instant = timestamp.toInstant(ZoneOffset.UTC);
+        return instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000;
+    }
+
+    private static <T> ResponseEntity<T> withETag(String eTag, T body) {
+        // no-cache: clients may keep the response but must revalidate it before every use
+        return ResponseEntity.ok()
+            .eTag(eTag)
+            .cacheControl(CacheControl.noCache())
+            .body(body);
     }
 
     @GetMapping(value = "/view/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    @Operation(summary = "Get a customer by ID")
-    public ResponseEntity<Customer> getCustomerById(@PathVariable Long id) {
-        return ResponseEntity.ok(customerService.getCustomerById(id));
+    @Operation(summary = "Get a customer by ID",
+               description = "Send the returned ETag as If-None-Match to get 304 while the customer is unchanged")
+    public ResponseEntity<Customer> getCustomerById(@PathVariable Long id, WebRequest webRequest) {
+        Optional<LocalDateTime> lastModified = customerService.getCustomerLastModified(id);
+        if (lastModified.isEmpty()) {
+            // Unknown id: let the regular lookup produce the usual error
+            return ResponseEntity.ok(customerService.getCustomerById(id));
+        }
+        String eTag = customerETag(id, lastModified.get());
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return withETag(eTag, customerService.getCustomerById(id));
+    }
+
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Search customers by name, NIC number or mobile number prefix",
+               description = "Pass exactly one of name, nic or mobile. Returns at most limit (up to " + MAX_SEARCH_LIMIT + ") customers")
+    public ResponseEntity<List<CustomerView>> searchCustomers(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String nic,
+            @RequestParam(required = false) String mobile,
+            @RequestParam(defaultValue = "20") int limit) {
+        int criteria = (isBlank(name) ? 0 : 1) + (isBlank(nic) ? 0 : 1) + (isBlank(mobile) ? 0 : 1);
+        if (criteria != 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Pass exactly one of name, nic or mobile");
+        }
+        return ResponseEntity.ok(customerService.searchCustomers(
+            isBlank(name) ? null : name,
+            isBlank(nic) ? null : nic,
+            isBlank(mobile) ? null : mobile,
+            searchLimit(limit)));
+    }
+
+    @GetMapping(value = "/search/suggest", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Type-ahead suggestions",
+               description = "Customers whose name, NIC number or mobile number starts with q, name matches first")
+    public ResponseEntity<List<CustomerSuggestion>> suggestCustomers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (isBlank(q)) {
+            return ResponseEntity.ok(List.of());
+        }
+        return ResponseEntity.ok(customerService.suggestCustomers(q, searchLimit(limit)));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    private static int searchLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
     }
 
     @PutMapping(value = "/update/{id}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    @Operation(summary = "Update a customer")
+    @Operation(summary = "Update a customer",
+               description = "409 with one conflict per mobile number that is listed twice or belongs to another customer")
     public ResponseEntity<Customer> updateCustomer(@PathVariable Long id, @RequestBody CustomerCreateRequest request) {
         return ResponseEntity.ok(customerService.updateCustomer(id, request));
     }
@@ -74,27 +332,51 @@ public class CustomerController {
         return ResponseEntity.ok().build();
     }
 
+    @ExceptionHandler(MobileNumberConflictException.class)
+    public ResponseEntity<Map<String, Object>> mobileNumberConflict(MobileNumberConflictException e) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("message", e.getMessage());
+        body.put("conflicts", e.getConflicts());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
+    @PostMapping(value = "/bulk/delete", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Bulk delete customers by id and/or NIC number",
+               description = "Deletes 1000 customers per transaction with set-based statements. The report counts " +
+                             "deleted customers and lists ids or NIC numbers that were not found or failed")
+    public ResponseEntity<BulkDeleteReport> bulkDeleteCustomers(@RequestBody BulkDeleteRequest request) {
+        return ResponseEntity.ok(customerService.deleteCustomers(request));
+    }
+
     @PostMapping(value = "/bulk/create", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Operation(summary = "Bulk create customers from Excel file")
     public ResponseEntity<List<Customer>> bulkCreateCustomers(@RequestParam("file") MultipartFile file) {
         return ResponseEntity.ok(customerService.bulkCreateCustomers(file));
     }
 
+    @PostMapping(value = "/bulk/create/csv", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Bulk create customers from a CSV file",
+               description = "Same 12 columns as the Excel template, comma separated with a header row")
+    public ResponseEntity<List<Customer>> bulkCreateCustomersFromCsv(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(customerService.bulkCreateCustomersFromCsv(file));
+    }
+
     @PostMapping(value = "/bulk/update", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    @Operation(summary = "Bulk update customers from Excel file")
-    public ResponseEntity<List<Customer>> bulkUpdateCustomers(@RequestParam("file") MultipartFile file) {
+    @Operation(summary = "Bulk update customers from Excel file",
+               description = "Updates name and date of birth by NIC number, xlsx or CSV (*.csv). Unchanged rows are skipped; " +
+                             "the report lists every updated or failed row")
+    public ResponseEntity<BulkUpdateReport> bulkUpdateCustomers(@RequestParam("file") MultipartFile file) {
         return ResponseEntity.ok(customerService.bulkUpdateCustomers(file));
     }
 
     @GetMapping(value = "/bulk/template", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
     @Operation(summary = "Download customer data template for bulk update")
-    public ResponseEntity<ByteArrayResource> downloadCustomerTemplate() {
-        byte[] excelFile = customerService.generateCustomerTemplate();
-        
+    public ResponseEntity<StreamingResponseBody> downloadCustomerTemplate() {
+        StreamingResponseBody body = customerService::writeCustomerTemplate;
+
         return ResponseEntity.ok()
             .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=customer_template.xlsx")
             .contentType(MediaType.APPLICATION_OCTET_STREAM)
-            .contentLength(excelFile.length)
-            .body(new ByteArrayResource(excelFile));
+            .body(body);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.example.customerapi.controller;
+
+import com.example.customerapi.export.ExportFormat;
+import com.example.customerapi.service.CustomerExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/customers/export")
+@CrossOrigin(origins = "*")
+@Tag(name = "Customer Export", description = "APIs for exporting all customers")
+public class CustomerExportController {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final CustomerExportService customerExportService;
+
+    @Autowired
+    public CustomerExportController(CustomerExportService customerExportService) {
+        this.customerExportService = customerExportService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Export all customers as newline-delimited JSON or CSV",
+               description = "format is ndjson (default) or csv. The response is gzip-compressed when the request " +
+                             "sends Accept-Encoding: gzip. 503 while customerapi.export.max-concurrent exports are running")
+    public ResponseEntity<StreamingResponseBody> exportCustomers(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromParameter(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        CustomerExportService.ExportSlot slot = customerExportService.reserveSlot()
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Too many exports running, try again later"));
+
+        StreamingResponseBody body = outputStream -> {
+            try (slot) {
+                if (gzip) {
+                    GZIPOutputStream compressed = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE);
+                    customerExportService.exportCustomers(exportFormat, compressed);
+                    compressed.finish();
+                } else {
+                    customerExportService.exportCustomers(exportFormat, outputStream);
+                }
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=customers." + exportFormat.getExtension())
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+            .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"));
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
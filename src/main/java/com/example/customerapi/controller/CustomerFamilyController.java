@@ -0,0 +1,36 @@
+package com.example.customerapi.controller;
+
+import com.example.customerapi.dto.FamilyGraph;
+import com.example.customerapi.service.FamilyGraphService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/customers/family")
+@CrossOrigin(origins = "*")
+@Tag(name = "Customer Family", description = "APIs for walking family relationships")
+public class CustomerFamilyController {
+
+    private static final int MAX_DEPTH = 10;
+
+    private final FamilyGraphService familyGraphService;
+
+    @Autowired
+    public CustomerFamilyController(FamilyGraphService familyGraphService) {
+        this.familyGraphService = familyGraphService;
+    }
+
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get a customer's relatives up to depth family links away",
+               description = "Follows family links in both directions, depth 1 to " + MAX_DEPTH + " (default 2). " +
+                             "Returns each customer reached once with the depth it was reached at, and the links " +
+                             "between them")
+    public ResponseEntity<FamilyGraph> getFamilyGraph(@PathVariable Long id,
+                                                      @RequestParam(defaultValue = "2") int depth) {
+        return ResponseEntity.ok(familyGraphService.getFamilyGraph(id, Math.max(1, Math.min(depth, MAX_DEPTH))));
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.customerapi.controller;
+
+import com.example.customerapi.dto.CustomerFilter;
+import com.example.customerapi.dto.CustomerView;
+import com.example.customerapi.repository.CustomerSortKey;
+import com.example.customerapi.service.CustomerService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/customers/filter")
+@CrossOrigin(origins = "*")
+@Tag(name = "Customer Filters", description = "APIs for filtering and sorting customers")
+public class CustomerFilterController {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final CustomerService customerService;
+
+    @Autowired
+    public CustomerFilterController(CustomerService customerService) {
+        this.customerService = customerService;
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Filter customers by location, date of birth and created/updated time",
+               description = "country is a country code. bornFrom/bornTo are inclusive dates; createdFrom/createdTo and " +
+                             "updatedFrom/updatedTo are ISO date-times, start inclusive and end exclusive. sort is id, name, " +
+                             "dateOfBirth, createdAt or updatedAt, direction asc or desc. Pass the returned nextCursor " +
+                             "(with the same filters and sort) to get the next page")
+    public ResponseEntity<Map<String, Object>> filterCustomers(
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate bornFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate bornTo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedTo,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String cursor) {
+        CustomerSortKey<?> sortKey = sortKey(sort);
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "direction must be asc or desc"));
+        CustomerFilter filter = new CustomerFilter(blankToNull(country), blankToNull(city),
+            bornFrom, bornTo, createdFrom, createdTo, updatedFrom, updatedTo);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        KeysetScrollPosition position = cursor == null || cursor.isEmpty()
+            ? ScrollPosition.keyset()
+            : decodeCursor(cursor, sortKey);
+
+        Window<CustomerView> window = customerService.filterCustomers(filter,
+            new Sort.Order(sortDirection, sortKey.property()), position, pageSize);
+
+        List<CustomerView> customers = window.getContent();
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("customers", customers);
+        response.put("pageSize", pageSize);
+        response.put("hasNext", window.hasNext());
+        response.put("nextCursor", window.hasNext()
+            ? encodeCursor((KeysetScrollPosition) window.positionAt(customers.size() - 1), sortKey)
+            : null);
+        return ResponseEntity.ok(response);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    private static CustomerSortKey<?> sortKey(String sort) {
+        for (CustomerSortKey<?> key : CustomerSortKey.values()) {
+            if (key.property().equalsIgnoreCase(sort.trim())) {
+                return key;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+            "sort must be id, name, dateOfBirth, createdAt or updatedAt");
+    }
+
+    /**
+     * Sort property, id and sort value of the last customer on the page, so the next page
+     * can start right after it. The value is left out when sorting by id or when it is null.
+     */
+    private static String encodeCursor(KeysetScrollPosition position, CustomerSortKey<?> sortKey) {
+        Map<String, ?> keys = position.getKeys();
+        String cursor = sortKey.property() + "|" + keys.get("id");
+        Object value = keys.get(sortKey.property());
+        if (sortKey != CustomerSortKey.ID && value != null) {
+            cursor += "|" + value;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static KeysetScrollPosition decodeCursor(String cursor, CustomerSortKey<?> sortKey) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 3);
+            if (parts.length < 2 || !parts[0].equals(sortKey.property())) {
+                throw new IllegalArgumentException("cursor belongs to another sort");
+            }
+            Map<String, Object> keys = new LinkedHashMap<>();
+            if (sortKey != CustomerSortKey.ID) {
+                keys.put(sortKey.property(), parts.length == 3 ? sortKey.parse(parts[2]) : null);
+            }
+            keys.put("id", CustomerSortKey.ID.parse(parts[1]));
+            return ScrollPosition.forward(keys);
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.customerapi.controller;
+
+import com.example.customerapi.dto.ImportJobStatus;
+import com.example.customerapi.service.CustomerImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/customers/bulk/jobs")
+@CrossOrigin(origins = "*")
+@Tag(name = "Bulk Import Jobs", description = "APIs for running bulk customer imports in the background")
+public class ImportJobController {
+
+    private final CustomerImportService customerImportService;
+
+    @Autowired
+    public ImportJobController(CustomerImportService customerImportService) {
+        this.customerImportService = customerImportService;
+    }
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Start a background import of customers from an Excel file")
+    public ResponseEntity<ImportJobStatus> submitImport(@RequestParam("file") MultipartFile file) {
+        ImportJobStatus status;
+        try {
+            status = customerImportService.submitImport(file);
+        } catch (TaskRejectedException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many imports queued, try again later");
+        }
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/customers/bulk/jobs/" + status.jobId()))
+            .body(status);
+    }
+
+    @GetMapping(value = "/{jobId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get progress of an import job")
+    public ResponseEntity<ImportJobStatus> getJobStatus(@PathVariable String jobId) {
+        return customerImportService.getJobStatus(jobId)
+            .map(ResponseEntity::ok)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Import job not found: " + jobId));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "List recent import jobs")
+    public ResponseEntity<List<ImportJobStatus>> getJobs() {
+        return ResponseEntity.ok(customerImportService.getJobs());
+    }
+}
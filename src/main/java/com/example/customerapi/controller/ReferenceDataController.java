@@ -0,0 +1,37 @@
+package com.example.customerapi.controller;
+
+import com.example.customerapi.dto.ReferenceDataCacheStats;
+import com.example.customerapi.service.ReferenceDataService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/reference-data")
+@CrossOrigin(origins = "*")
+@Tag(name = "Reference Data", description = "APIs for the country and city reference data cache")
+public class ReferenceDataController {
+
+    private final ReferenceDataService referenceDataService;
+
+    @Autowired
+    public ReferenceDataController(ReferenceDataService referenceDataService) {
+        this.referenceDataService = referenceDataService;
+    }
+
+    @GetMapping(value = "/cache/stats", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get country/city cache size and hit/miss counters")
+    public ResponseEntity<ReferenceDataCacheStats> getCacheStats() {
+        return ResponseEntity.ok(referenceDataService.getCacheStats());
+    }
+
+    @PostMapping(value = "/cache/reload", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Reload the country/city cache from the database")
+    public ResponseEntity<ReferenceDataCacheStats> reloadCache() {
+        referenceDataService.reload();
+        return ResponseEntity.ok(referenceDataService.getCacheStats());
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.customerapi.csv;
+
+import com.example.customerapi.importer.RowHandler;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads a CSV file in the bulk-import column layout and hands every record to a
+ * {@link RowHandler}, the same way {@link com.example.customerapi.excel.StreamingSheetReader}
+ * does for xlsx.
+ *
+ * The file is memory-mapped in read-only windows and scanned byte by byte, so there is no
+ * {@code Reader}, no line strings and no charset decoder in between: a cell only becomes a
+ * {@code String} once it is complete, and empty cells share {@code ""}. Delimiters are ASCII,
+ * so UTF-8 multi-byte characters can never be split by them.
+ *
+ * Follows RFC 4180: comma separated, fields optionally enclosed in double quotes (which may
+ * then contain commas, line breaks and {@code ""} for a quote), LF or CRLF line ends. A leading
+ * UTF-8 byte order mark is skipped and blank lines are ignored. Row numbers count records, the
+ * header being row 0, as in a sheet.
+ */
+public class CsvRowReader {
+
+    private static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final int columnCount;
+    private final int windowSize;
+
+    public CsvRowReader(int columnCount) {
+        this(columnCount, DEFAULT_WINDOW_SIZE);
+    }
+
+    CsvRowReader(int columnCount, int windowSize) {
+        this.columnCount = columnCount;
+        this.windowSize = windowSize;
+    }
+
+    public void read(Path file, RowHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            byte[] chunk = new byte[CHUNK_SIZE];
+
+            handler.expectedRows(countDataRows(channel, size, chunk));
+
+            Parser parser = new Parser(handler);
+            for (long position = 0; position < size; position += windowSize) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(windowSize, size - position));
+                while (window.hasRemaining()) {
+                    int length = Math.min(chunk.length, window.remaining());
+                    window.get(chunk, 0, length);
+                    parser.parse(chunk, length);
+                }
+            }
+            parser.finish();
+        }
+    }
+
+    /**
+     * Line count minus the header. Quoted line breaks make this an estimate, which is all
+     * {@link RowHandler#expectedRows(int)} needs.
+     */
+    private int countDataRows(FileChannel channel, long size, byte[] chunk) throws IOException {
+        long lines = 0;
+        byte last = '\n';
+        for (long position = 0; position < size; position += windowSize) {
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(windowSize, size - position));
+            while (window.hasRemaining()) {
+                int length = Math.min(chunk.length, window.remaining());
+                window.get(chunk, 0, length);
+                for (int i = 0; i < length; i++) {
+                    if (chunk[i] == '\n') {
+                        lines++;
+                    }
+                }
+                last = chunk[length - 1];
+            }
+        }
+        if (last != '\n') {
+            lines++;
+        }
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, lines - 1));
+    }
+
+    private enum State {
+        FIELD_START, UNQUOTED, QUOTED, QUOTE_IN_QUOTED
+    }
+
+    private class Parser {
+        private final RowHandler handler;
+
+        private State state = State.FIELD_START;
+        private String[] cells;
+        private int column;
+        private byte[] field = new byte[256];
+        private int fieldLength;
+        private int rowNum;
+        private boolean skipLineFeed;
+        private boolean atFileStart = true;
+
+        Parser(RowHandler handler) {
+            this.handler = handler;
+            this.cells = new String[columnCount];
+        }
+
+        void parse(byte[] bytes, int length) {
+            int i = 0;
+            if (atFileStart) {
+                atFileStart = false;
+                if (length >= 3 && bytes[0] == (byte) 0xEF && bytes[1] == (byte) 0xBB && bytes[2] == (byte) 0xBF) {
+                    i = 3;
+                }
+            }
+            for (; i < length; i++) {
+                byte b = bytes[i];
+                if (skipLineFeed) {
+                    skipLineFeed = false;
+                    if (b == '\n') {
+                        continue;
+                    }
+                }
+                switch (state) {
+                    case FIELD_START -> {
+                        if (b == '"') {
+                            state = State.QUOTED;
+                        } else if (b == ',') {
+                            endField();
+                        } else if (b == '\n' || b == '\r') {
+                            endRecord(b);
+                        } else {
+                            append(b);
+                            state = State.UNQUOTED;
+                        }
+                    }
+                    case UNQUOTED -> {
+                        if (b == ',') {
+                            endField();
+                        } else if (b == '\n' || b == '\r') {
+                            endRecord(b);
+                        } else {
+                            append(b);
+                        }
+                    }
+                    case QUOTED -> {
+                        if (b == '"') {
+                            state = State.QUOTE_IN_QUOTED;
+                        } else {
+                            append(b);
+                        }
+                    }
+                    case QUOTE_IN_QUOTED -> {
+                        if (b == '"') {
+                            append(b);
+                            state = State.QUOTED;
+                        } else if (b == ',') {
+                            endField();
+                        } else if (b == '\n' || b == '\r') {
+                            endRecord(b);
+                        } else {
+                            // Text after a closing quote: keep it, as most spreadsheet tools do
+                            append(b);
+                            state = State.UNQUOTED;
+                        }
+                    }
+                }
+            }
+        }
+
+        void finish() throws IOException {
+            if (state == State.QUOTED) {
+                throw new IOException("Unterminated quoted field in row " + rowNum);
+            }
+            if (column > 0 || fieldLength > 0 || state != State.FIELD_START) {
+                endRecord((byte) '\n');
+            }
+        }
+
+        private void append(byte b) {
+            if (fieldLength == field.length) {
+                field = Arrays.copyOf(field, field.length * 2);
+            }
+            field[fieldLength++] = b;
+        }
+
+        private void endField() {
+            if (column < columnCount) {
+                cells[column] = fieldLength == 0 ? "" : new String(field, 0, fieldLength, StandardCharsets.UTF_8);
+            }
+            column++;
+            fieldLength = 0;
+            state = State.FIELD_START;
+        }
+
+        private void endRecord(byte terminator) {
+            skipLineFeed = terminator == '\r';
+            if (column == 0 && fieldLength == 0 && state == State.FIELD_START) {
+                // Blank line
+                rowNum++;
+                return;
+            }
+            endField();
+            for (int i = Math.min(column, columnCount); i < columnCount; i++) {
+                cells[i] = "";
+            }
+            handler.handleRow(rowNum++, cells);
+            // The handler may keep the array (the import pipeline hands it to another thread)
+            cells = new String[columnCount];
+            column = 0;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.customerapi.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk delete. {@code items} lists every id or NIC number that was not found or
+ * could not be deleted; deleted customers are only counted.
+ */
+public record BulkDeleteReport(
+    long requested,
+    long deleted,
+    long notFound,
+    long failed,
+    double customersPerSecond,
+    List<Item> items
+) {
+    /**
+     * @param status NOT_FOUND or FAILED (the chunk could not be deleted)
+     */
+    public record Item(Long id, String nicNumber, String status, String message) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.customerapi.dto;
+
+import java.util.List;
+
+/**
+ * Customers to delete, by id, by NIC number or both.
+ */
+public record BulkDeleteRequest(List<Long> ids, List<String> nicNumbers) {
+}
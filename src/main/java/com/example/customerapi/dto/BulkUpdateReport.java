@@ -0,0 +1,22 @@
+package com.example.customerapi.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk update. {@code rows} lists every row that was updated or failed; unchanged
+ * rows are only counted, since in a re-sync file they are the vast majority.
+ */
+public record BulkUpdateReport(
+    long rowsProcessed,
+    long rowsUpdated,
+    long rowsUnchanged,
+    long rowsFailed,
+    double rowsPerSecond,
+    List<RowResult> rows
+) {
+    /**
+     * @param status UPDATED, NOT_FOUND, INVALID or FAILED (the chunk could not be written)
+     */
+    public record RowResult(int row, String nicNumber, String status, String message) {
+    }
+}
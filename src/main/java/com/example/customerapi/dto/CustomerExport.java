@@ -0,0 +1,21 @@
+package com.example.customerapi.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * One customer as written by the export, with reference data and family members flattened to
+ * plain values.
+ */
+public record CustomerExport(
+    Long id,
+    String name,
+    LocalDate dateOfBirth,
+    String nicNumber,
+    List<String> mobileNumbers,
+    List<Address> addresses,
+    List<String> familyMemberNicNumbers
+) {
+    public record Address(String addressLine1, String addressLine2, String city, String country) {
+    }
+}
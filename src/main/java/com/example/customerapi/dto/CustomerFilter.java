@@ -0,0 +1,22 @@
+package com.example.customerapi.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Criteria for the filtered customer list. Every field is optional and set fields are combined
+ * with AND. Date of birth bounds are inclusive; created and updated windows include their start
+ * and exclude their end. {@code city} and {@code countryCode} match a customer with at least one
+ * address in that city or country (both on the same address when both are set).
+ */
+public record CustomerFilter(
+    String countryCode,
+    String city,
+    LocalDate bornFrom,
+    LocalDate bornTo,
+    LocalDateTime createdFrom,
+    LocalDateTime createdTo,
+    LocalDateTime updatedFrom,
+    LocalDateTime updatedTo
+) {
+}
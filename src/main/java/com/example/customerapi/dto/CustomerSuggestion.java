@@ -0,0 +1,7 @@
+package com.example.customerapi.dto;
+
+/**
+ * Just enough of a customer to show in a type-ahead list and fetch the full record by id.
+ */
+public record CustomerSuggestion(Long id, String name, String nicNumber) {
+}
@@ -0,0 +1,33 @@
+package com.example.customerapi.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read-only representation of a customer for list responses. Built from flat projections, so
+ * nothing here is attached to a persistence context.
+ */
+public record CustomerView(
+    Long id,
+    String name,
+    LocalDate dateOfBirth,
+    String nicNumber,
+    List<MobileNumber> mobileNumbers,
+    List<Address> addresses,
+    List<FamilyMember> familyMembers,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+) {
+    public record MobileNumber(String number) {
+    }
+
+    public record Address(String addressLine1, String addressLine2, City city) {
+    }
+
+    public record City(String name) {
+    }
+
+    public record FamilyMember(Long id, String name, LocalDate dateOfBirth, String nicNumber) {
+    }
+}
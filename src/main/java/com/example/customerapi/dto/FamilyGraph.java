@@ -0,0 +1,25 @@
+package com.example.customerapi.dto;
+
+import java.util.List;
+
+/**
+ * A customer's relatives up to {@code depth} family links away. Every customer appears once in
+ * {@code nodes}, at the depth it was first reached; an edge points from a customer to someone it
+ * lists as a family member. {@code cyclic} is set when the relatives are linked by more than one
+ * path (links in both directions between the same two customers count once), and
+ * {@code truncated} when the walk stopped at the node limit before reaching {@code depth}.
+ */
+public record FamilyGraph(
+    Long rootId,
+    int depth,
+    List<Node> nodes,
+    List<Edge> edges,
+    boolean cyclic,
+    boolean truncated
+) {
+    public record Node(Long id, String name, String nicNumber, int depth) {
+    }
+
+    public record Edge(Long customerId, Long familyMemberId) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.customerapi.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record ImportJobStatus(
+    String jobId,
+    String fileName,
+    String status,
+    long rowsProcessed,
+    long rowsCreated,
+    long rowsFailed,
+    Long expectedRows,
+    double rowsPerSecond,
+    Long etaSeconds,
+    LocalDateTime submittedAt,
+    LocalDateTime startedAt,
+    LocalDateTime finishedAt,
+    String error,
+    List<RowError> rowErrors
+) {
+    public record RowError(int row, String message) {
+    }
+}
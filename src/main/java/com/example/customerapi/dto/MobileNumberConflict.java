@@ -0,0 +1,11 @@
+package com.example.customerapi.dto;
+
+/**
+ * A mobile number that cannot be saved.
+ *
+ * @param status     DUPLICATE (given more than once in the same request or file) or REGISTERED
+ *                   (already belongs to another customer)
+ * @param customerId the customer the number is registered to, for REGISTERED
+ */
+public record MobileNumberConflict(String number, String status, Long customerId) {
+}
@@ -0,0 +1,11 @@
+package com.example.customerapi.dto;
+
+public record ReferenceDataCacheStats(
+    int countries,
+    int cities,
+    long countryHits,
+    long countryMisses,
+    long cityHits,
+    long cityMisses
+) {
+}
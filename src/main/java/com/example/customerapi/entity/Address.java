@@ -1,19 +1,24 @@
 package com.example.customerapi.entity;
 
+import com.example.customerapi.config.CacheRegions;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Data
 @Entity
-@Table(name = "addresses")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ADDRESSES)
+@Table(name = "addresses", indexes = @Index(name = "idx_addresses_city_customer", columnList = "city_id, customer_id"))
 @JsonIgnoreProperties({"id", "customer"})
 public class Address {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "addresses_seq")
+    @SequenceGenerator(name = "addresses_seq", sequenceName = "addresses_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Address line 1 is required")
@@ -1,10 +1,13 @@
 package com.example.customerapi.entity;
 
+import com.example.customerapi.config.CacheRegions;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import java.util.ArrayList;
@@ -12,8 +15,9 @@ import java.util.List;
 
 @Data
 @Entity
-@Table(name = "cities")
-@JsonIgnoreProperties({"id", "addresses"})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.CITIES)
+@Table(name = "cities", indexes = @Index(name = "idx_cities_country_name", columnList = "country_id, name"))
+@JsonIgnoreProperties({"id", "addresses", "hibernateLazyInitializer", "handler"})
 public class City {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,11 +1,14 @@
 package com.example.customerapi.entity;
 
+import com.example.customerapi.config.CacheRegions;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Past;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.data.annotation.CreatedDate;
@@ -21,12 +24,19 @@ import java.util.List;
 
 @Data
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.CUSTOMERS)
 @NoArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "customers")
+@Table(name = "customers", indexes = {
+    @Index(name = "idx_customers_updated_at", columnList = "updated_at"),
+    @Index(name = "idx_customers_name", columnList = "name"),
+    @Index(name = "idx_customers_date_of_birth", columnList = "date_of_birth, id"),
+    @Index(name = "idx_customers_created_at", columnList = "created_at, id")
+})
 public class Customer {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customers_seq")
+    @SequenceGenerator(name = "customers_seq", sequenceName = "customers_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -42,14 +52,17 @@ public class Customer {
     @Column(name = "nic_number", nullable = false, unique = true)
     private String nicNumber;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.CUSTOMER_MOBILE_NUMBERS)
     @JsonManagedReference
     @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<MobileNumber> mobileNumbers = new ArrayList<>();
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.CUSTOMER_ADDRESSES)
     @JsonManagedReference
     @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Address> addresses = new ArrayList<>();
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.CUSTOMER_FAMILY_MEMBERS)
     @ManyToMany
     @JoinTable(
         name = "customer_family_members",
@@ -59,6 +72,7 @@ public class Customer {
     @JsonManagedReference
     private List<Customer> familyMembers = new ArrayList<>();
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.CUSTOMER_FAMILY_OF)
     @ManyToMany(mappedBy = "familyMembers")
     @JsonBackReference
     private List<Customer> familyOf = new ArrayList<>();
@@ -0,0 +1,28 @@
+package com.example.customerapi.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The single row of {@code customer_list_version} (inserted by data.sql). Its version goes up
+ * by one in every transaction that changes a customer, so list ETags need no scan of the
+ * customers table.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = "customer_list_version")
+public class CustomerListVersion {
+
+    public static final long ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private long version;
+}
@@ -1,19 +1,24 @@
 package com.example.customerapi.entity;
 
+import com.example.customerapi.config.CacheRegions;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Data
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.MOBILE_NUMBERS)
 @Table(name = "mobile_numbers")
 @JsonIgnoreProperties({"id", "customer"})
 public class MobileNumber {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "mobile_numbers_seq")
+    @SequenceGenerator(name = "mobile_numbers_seq", sequenceName = "mobile_numbers_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Mobile number is required")
@@ -0,0 +1,21 @@
+package com.example.customerapi.excel;
+
+/**
+ * Column layout shared by the bulk-import files and the downloadable customer template.
+ */
+public final class CustomerTemplate {
+
+    public static final String[] HEADERS = {
+        "Name", "Date of Birth", "NIC Number", "Mobile Number",
+        "Address Line 1", "Address Line 2", "City", "Country Name", "Country Code",
+        "Family Member Name", "Family Member DOB", "Family Member NIC"
+    };
+
+    // Estimated widths (in characters) for the template columns, in header order
+    public static final int[] COLUMN_WIDTHS = {25, 14, 14, 16, 30, 30, 18, 18, 13, 25, 18, 18};
+
+    public static final int COLUMN_COUNT = HEADERS.length;
+
+    private CustomerTemplate() {
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.customerapi.excel;
+
+import com.example.customerapi.importer.RowHandler;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.XMLFilterImpl;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Reads the first sheet of an xlsx file with POI's event (SAX) API and hands every row to a
+ * {@link RowHandler} as soon as it has been parsed. Unlike {@code new XSSFWorkbook(...)} no
+ * cell objects are kept around, so heap use does not grow with the number of rows.
+ */
+public class StreamingSheetReader {
+
+    private final int columnCount;
+
+    public StreamingSheetReader(int columnCount) {
+        this.columnCount = columnCount;
+    }
+
+    public void read(File file, RowHandler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = new DimensionFilter(XMLHelper.newXMLReader(), handler);
+                parser.setContentHandler(new XSSFSheetXMLHandler(
+                    styles, null, strings, new RowCollector(handler), new IsoDateFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Unable to read Excel file", e);
+        }
+    }
+
+    private class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final RowHandler handler;
+        private String[] cells;
+
+        RowCollector(RowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells = new String[columnCount];
+            Arrays.fill(cells, "");
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            handler.handleRow(rowNum, cells);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            if (cellReference == null || formattedValue == null) return;
+            int column = new CellReference(cellReference).getCol();
+            if (column < columnCount) {
+                cells[column] = formattedValue;
+            }
+        }
+    }
+
+    /**
+     * Reports the sheet's {@code <dimension ref="A1:L200001"/>} as the expected number of data
+     * rows, when the writer of the file filled it in.
+     */
+    private static class DimensionFilter extends XMLFilterImpl {
+        private final RowHandler handler;
+
+        DimensionFilter(XMLReader parent, RowHandler handler) {
+            super(parent);
+            this.handler = handler;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes atts) throws SAXException {
+            if ("dimension".equals(localName)) {
+                String ref = atts.getValue("ref");
+                if (ref != null && ref.contains(":")) {
+                    handler.expectedRows(new CellReference(ref.substring(ref.indexOf(':') + 1)).getRow());
+                }
+            }
+            super.startElement(uri, localName, qName, atts);
+        }
+    }
+
+    /**
+     * Formats numeric cells the same way the importer always has: date-formatted cells as
+     * ISO dates, everything else as a whole number.
+     */
+    private static class IsoDateFormatter extends DataFormatter {
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value, use1904Windowing).toLocalDate().toString();
+            }
+            return String.valueOf((long) value);
+        }
+    }
+}
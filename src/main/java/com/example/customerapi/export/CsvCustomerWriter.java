@@ -0,0 +1,120 @@
+package com.example.customerapi.export;
+
+import com.example.customerapi.dto.CustomerExport;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV with one row per customer. Multi-valued columns separate their values with
+ * {@code |}; each address is {@code line 1;line 2;city;country}. A {@code |}, {@code ;} or
+ * {@code \} inside a value is preceded by {@code \}, so a reader splits only on unescaped
+ * separators and then drops the backslashes.
+ */
+public class CsvCustomerWriter implements CustomerExportWriter {
+
+    static final String HEADER = "id,name,date_of_birth,nic_number,mobile_numbers,addresses,family_member_nic_numbers";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer writer;
+    private final StringBuilder cell = new StringBuilder();
+
+    public CsvCustomerWriter(OutputStream outputStream) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(HEADER);
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void write(CustomerExport customer) throws IOException {
+        writer.write(String.valueOf(customer.id()));
+        writer.write(',');
+        writeCell(customer.name());
+        writer.write(',');
+        writeCell(customer.dateOfBirth() != null ? customer.dateOfBirth().toString() : null);
+        writer.write(',');
+        writeCell(customer.nicNumber());
+        writer.write(',');
+        writeCell(joinValues(customer.mobileNumbers()));
+        writer.write(',');
+        writeCell(joinAddresses(customer.addresses()));
+        writer.write(',');
+        writeCell(joinValues(customer.familyMemberNicNumbers()));
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    private String joinValues(List<String> values) {
+        cell.setLength(0);
+        for (String value : values) {
+            if (!cell.isEmpty()) {
+                cell.append('|');
+            }
+            appendEscaped(value);
+        }
+        return cell.toString();
+    }
+
+    private String joinAddresses(List<CustomerExport.Address> addresses) {
+        cell.setLength(0);
+        for (CustomerExport.Address address : addresses) {
+            if (!cell.isEmpty()) {
+                cell.append('|');
+            }
+            appendEscaped(address.addressLine1());
+            cell.append(';');
+            appendEscaped(address.addressLine2());
+            cell.append(';');
+            appendEscaped(address.city());
+            cell.append(';');
+            appendEscaped(address.country());
+        }
+        return cell.toString();
+    }
+
+    private void appendEscaped(String value) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '|' || c == ';' || c == '\\') {
+                cell.append('\\');
+            }
+            cell.append(c);
+        }
+    }
+
+    private void writeCell(String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        if (!needsQuoting(value)) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static boolean needsQuoting(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
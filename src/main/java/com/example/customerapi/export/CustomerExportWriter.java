@@ -0,0 +1,17 @@
+package com.example.customerapi.export;
+
+import com.example.customerapi.dto.CustomerExport;
+
+import java.io.IOException;
+
+/**
+ * Writes exported customers one at a time; nothing is kept once a customer has been written.
+ */
+public interface CustomerExportWriter {
+    void write(CustomerExport customer) throws IOException;
+
+    /**
+     * Flushes buffered output. Does not close the underlying stream.
+     */
+    void finish() throws IOException;
+}
@@ -0,0 +1,32 @@
+package com.example.customerapi.export;
+
+import com.example.customerapi.dto.CustomerExport;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * One JSON object per line.
+ */
+public class NdjsonCustomerWriter implements CustomerExportWriter {
+
+    private final JsonGenerator generator;
+
+    public NdjsonCustomerWriter(ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(outputStream)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Override
+    public void write(CustomerExport customer) throws IOException {
+        generator.writeObject(customer);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,483 @@
+package com.example.customerapi.importer;
+
+import com.example.customerapi.entity.Address;
+import com.example.customerapi.entity.City;
+import com.example.customerapi.entity.Country;
+import com.example.customerapi.entity.Customer;
+import com.example.customerapi.entity.MobileNumber;
+import com.example.customerapi.repository.CustomerRepository;
+import com.example.customerapi.service.MobileNumberService;
+import com.example.customerapi.service.NicNumberService;
+import com.example.customerapi.service.ReferenceDataService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Turns rows in the bulk-import layout into customers and writes them in batches.
+ *
+ * Rows flow through three stages connected by a bounded queue of chunks:
+ * <ol>
+ *   <li>a reader thread decodes the file and cuts it into chunks of {@link #BATCH_SIZE} rows,</li>
+ *   <li>a shared pool of workers parses and validates each chunk into unsaved customers,</li>
+ *   <li>the calling thread takes chunks back in file order, resolves countries and cities and
+ *       writes each chunk as one batch.</li>
+ * </ol>
+ * When the writer falls behind, the queue fills up and the reader blocks, so at most
+ * {@code queue-capacity} chunks are in memory per import.
+ *
+ * Each batch is saved through a {@link TransactionTemplate}: called inside an existing
+ * transaction it joins it, otherwise every batch commits on its own. Reference data is resolved
+ * on the writer thread only, because concurrent workers could otherwise create the same country
+ * or city twice.
+ */
+@Component
+public class CustomerImporter implements DisposableBean {
+
+    public static final int BATCH_SIZE = 1000;
+
+    private final CustomerRepository customerRepository;
+    private final ReferenceDataService referenceDataService;
+    private final NicNumberService nicNumberService;
+    private final MobileNumberService mobileNumberService;
+    private final TransactionTemplate transactionTemplate;
+    private final ImportMetrics importMetrics;
+    private final int queueCapacity;
+    private final ExecutorService readers;
+    private final ExecutorService workers;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public CustomerImporter(CustomerRepository customerRepository,
+                            ReferenceDataService referenceDataService,
+                            NicNumberService nicNumberService,
+                            MobileNumberService mobileNumberService,
+                            PlatformTransactionManager transactionManager,
+                            ImportMetrics importMetrics,
+                            @Value("${customerapi.import.pipeline.workers:0}") int workerCount,
+                            @Value("${customerapi.import.pipeline.queue-capacity:4}") int queueCapacity) {
+        this.customerRepository = customerRepository;
+        this.referenceDataService = referenceDataService;
+        this.nicNumberService = nicNumberService;
+        this.mobileNumberService = mobileNumberService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.importMetrics = importMetrics;
+        this.queueCapacity = queueCapacity;
+        int threads = workerCount > 0 ? workerCount : Runtime.getRuntime().availableProcessors();
+        this.readers = Executors.newCachedThreadPool(daemonThreads("customer-import-reader-"));
+        this.workers = Executors.newFixedThreadPool(threads, daemonThreads("customer-import-worker-"));
+    }
+
+    @Override
+    public void destroy() {
+        readers.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    public void importRows(RowSource source, ImportListener listener) throws IOException {
+        BlockingQueue<Future<Chunk>> chunks = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Future<?> reader = readers.submit(() -> readChunks(source, chunks, cancelled));
+        ImportMetrics.Recording recording = importMetrics.start(listener);
+        try {
+            writeChunks(chunks, recording);
+        } finally {
+            // Stops the reader if the writer gave up early
+            cancelled.set(true);
+            reader.cancel(true);
+            recording.finish();
+        }
+    }
+
+    private void readChunks(RowSource source, BlockingQueue<Future<Chunk>> chunks, AtomicBoolean cancelled) {
+        try {
+            List<RawRow> pending = new ArrayList<>(BATCH_SIZE);
+            source.read(new RowHandler() {
+                @Override
+                public void expectedRows(int dataRows) {
+                    enqueue(chunks, CompletableFuture.completedFuture(Chunk.expected(dataRows)));
+                }
+
+                @Override
+                public void handleRow(int rowNum, String[] cells) {
+                    if (cancelled.get()) throw new CancellationException();
+                    if (rowNum == 0) return;
+
+                    pending.add(new RawRow(rowNum, cells));
+                    if (pending.size() == BATCH_SIZE) {
+                        submitChunk(pending, chunks);
+                        pending.clear();
+                    }
+                }
+            });
+            submitChunk(pending, chunks);
+            enqueue(chunks, CompletableFuture.completedFuture(Chunk.END));
+        } catch (Exception e) {
+            if (!cancelled.get()) {
+                enqueue(chunks, CompletableFuture.failedFuture(e));
+            }
+        }
+    }
+
+    private void submitChunk(List<RawRow> rows, BlockingQueue<Future<Chunk>> chunks) {
+        if (rows.isEmpty()) return;
+        List<RawRow> chunk = List.copyOf(rows);
+        enqueue(chunks, workers.submit(() -> parseChunk(chunk)));
+    }
+
+    private static void enqueue(BlockingQueue<Future<Chunk>> chunks, Future<Chunk> chunk) {
+        try {
+            chunks.put(chunk);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Import cancelled");
+        }
+    }
+
+    private Chunk parseChunk(List<RawRow> rows) {
+        List<ParsedRow> parsed = new ArrayList<>(rows.size());
+        for (RawRow row : rows) {
+            try {
+                Customer customer = processCustomerRow(row.cells());
+                parsed.add(new ParsedRow(row.rowNum(), customer, pendingAddress(row.cells()), null));
+            } catch (Exception e) {
+                parsed.add(new ParsedRow(row.rowNum(), null, null, e.getMessage()));
+            }
+        }
+        return new Chunk(parsed, -1);
+    }
+
+    private void writeChunks(BlockingQueue<Future<Chunk>> chunks, ImportListener listener) throws IOException {
+        Claims claims = new Claims();
+        int rowsProcessed = 0;
+        while (true) {
+            Chunk chunk = await(chunks);
+            if (chunk == Chunk.END) return;
+            if (chunk.expectedRows() >= 0) {
+                listener.expectedRows(chunk.expectedRows());
+                continue;
+            }
+
+            List<ParsedRow> batchRows = new ArrayList<>(chunk.rows().size());
+            for (ParsedRow row : chunk.rows()) {
+                if (row.error() != null) {
+                    listener.rowFailed(row.rowNum(), row.error());
+                } else {
+                    batchRows.add(row);
+                }
+            }
+            rowsProcessed += chunk.rows().size();
+            saveBatch(batchRows, rowsProcessed, claims, listener);
+        }
+    }
+
+    private static Chunk await(BlockingQueue<Future<Chunk>> chunks) throws IOException {
+        try {
+            return chunks.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) throw io;
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            throw new RuntimeException("Error processing Excel file", cause);
+        }
+    }
+
+    private void saveBatch(List<ParsedRow> batchRows, int rowsProcessed, Claims claims, ImportListener listener) {
+        List<Customer> claimed = new ArrayList<>();
+        List<Customer> created;
+        try {
+            created = transactionTemplate.execute(status -> saveBatch(batchRows, claims, claimed, listener));
+        } catch (RuntimeException e) {
+            // Nothing of the batch was saved, so later rows may use its numbers
+            claimed.forEach(claims::release);
+            listener.batchFailed(batchRows.stream().map(ParsedRow::rowNum).toList(), e);
+            created = List.of();
+        }
+        listener.batchSaved(rowsProcessed, created);
+    }
+
+    /**
+     * Persists the batch and detaches everything the persistence context has picked up so far,
+     * so that a large import does not keep every entity managed until commit.
+     *
+     * NIC numbers of the whole batch (customers and their family members) and its mobile numbers
+     * are each checked with a single set-based lookup. Row by row, each customer then claims its
+     * numbers against the rest of the file; rows that keep them are collected in {@code claimed}.
+     * Customers that already exist are skipped; rows whose family member already exists or whose
+     * mobile number belongs to another customer are reported and dropped, giving their claims
+     * back, so they never reach the unique constraints.
+     */
+    private List<Customer> saveBatch(List<ParsedRow> parsedRows, Claims claims, List<Customer> claimed,
+                                     ImportListener listener) {
+        List<Customer> newCustomers = new ArrayList<>();
+        List<ParsedRow> batchRows = new ArrayList<>(parsedRows.size());
+        for (ParsedRow row : parsedRows) {
+            try {
+                resolveAddress(row);
+                batchRows.add(row);
+            } catch (Exception e) {
+                listener.rowFailed(row.rowNum(), e.getMessage());
+            }
+        }
+
+        if (!batchRows.isEmpty()) {
+            List<String> nicNumbers = new ArrayList<>();
+            for (ParsedRow row : batchRows) {
+                nicNumbers.add(row.customer().getNicNumber());
+                row.customer().getFamilyMembers().forEach(member -> nicNumbers.add(member.getNicNumber()));
+            }
+            Set<String> existingNicNumbers = nicNumberService.findExisting(nicNumbers);
+            List<String> mobileNumbers = new ArrayList<>();
+            for (ParsedRow row : batchRows) {
+                row.customer().getMobileNumbers().forEach(mobile -> mobileNumbers.add(mobile.getNumber()));
+            }
+            Map<String, Long> existingMobileNumbers = mobileNumberService.findExisting(mobileNumbers);
+
+            List<Customer> newFamilyMembers = new ArrayList<>();
+            for (ParsedRow row : batchRows) {
+                Customer customer = row.customer();
+                try {
+                    claims.claim(customer);
+                } catch (RuntimeException e) {
+                    listener.rowFailed(row.rowNum(), e.getMessage());
+                    continue;
+                }
+                if (existingNicNumbers.contains(customer.getNicNumber())) {
+                    claimed.add(customer);
+                    continue;
+                }
+
+                Optional<Customer> existingMember = customer.getFamilyMembers().stream()
+                    .filter(member -> existingNicNumbers.contains(member.getNicNumber()))
+                    .findFirst();
+                if (existingMember.isPresent()) {
+                    claims.release(customer);
+                    listener.rowFailed(row.rowNum(), "Family member with NIC number "
+                        + existingMember.get().getNicNumber() + " already exists");
+                    continue;
+                }
+
+                Optional<MobileNumber> registeredMobile = customer.getMobileNumbers().stream()
+                    .filter(mobile -> existingMobileNumbers.containsKey(mobile.getNumber()))
+                    .findFirst();
+                if (registeredMobile.isPresent()) {
+                    claims.release(customer);
+                    listener.rowFailed(row.rowNum(), "Mobile number "
+                        + registeredMobile.get().getNumber() + " is already registered to another customer");
+                    continue;
+                }
+
+                claimed.add(customer);
+                newCustomers.add(customer);
+                newFamilyMembers.addAll(customer.getFamilyMembers());
+            }
+
+            customerRepository.saveAll(newFamilyMembers);
+            customerRepository.saveAll(newCustomers);
+            newFamilyMembers.forEach(member -> nicNumberService.register(member.getNicNumber()));
+            newCustomers.forEach(customer -> nicNumberService.register(customer.getNicNumber()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return newCustomers;
+    }
+
+    // Package-private and free of state so the benchmarks in src/jmh can call it directly
+    static Customer processCustomerRow(String[] cells) {
+        Customer customer = new Customer();
+
+        customer.setName(cells[0]);
+
+        String dateStr = cells[1];
+        try {
+            LocalDate dateOfBirth = LocalDate.parse(dateStr);
+            if (dateOfBirth.isAfter(LocalDate.now())) {
+                throw new RuntimeException("Date of birth must be in the past: " + dateStr);
+            }
+            customer.setDateOfBirth(dateOfBirth);
+        } catch (Exception e) {
+            throw new RuntimeException("Invalid date format for date of birth: " + dateStr + ". Expected format: YYYY-MM-DD", e);
+        }
+
+        customer.setNicNumber(cells[2]);
+
+        String mobileNumber = cells[3];
+        if (mobileNumber != null && !mobileNumber.trim().isEmpty()) {
+            MobileNumber mobile = new MobileNumber();
+            mobile.setNumber(mobileNumber);
+            mobile.setCustomer(customer);
+            customer.getMobileNumbers().add(mobile);
+        }
+
+        String familyMemberName = cells[9];
+        String familyMemberDob = cells[10];
+        String familyMemberNic = cells[11];
+
+        if (familyMemberName != null && !familyMemberName.trim().isEmpty() &&
+            familyMemberDob != null && !familyMemberDob.trim().isEmpty() &&
+            familyMemberNic != null && !familyMemberNic.trim().isEmpty()) {
+
+            Customer familyMember = new Customer();
+            familyMember.setName(familyMemberName);
+            try {
+                LocalDate familyMemberDateOfBirth = LocalDate.parse(familyMemberDob);
+                if (familyMemberDateOfBirth.isAfter(LocalDate.now())) {
+                    throw new RuntimeException("Family member date of birth must be in the past: " + familyMemberDob);
+                }
+                familyMember.setDateOfBirth(familyMemberDateOfBirth);
+            } catch (Exception e) {
+                throw new RuntimeException("Invalid date format for family member date of birth: " + familyMemberDob + ". Expected format: YYYY-MM-DD", e);
+            }
+            familyMember.setNicNumber(familyMemberNic);
+            familyMember.setCreatedAt(LocalDateTime.now());
+            familyMember.setUpdatedAt(LocalDateTime.now());
+
+            // Persisted together with the rest of the batch once its NIC numbers have been checked
+            customer.addFamilyMember(familyMember);
+        }
+
+        customer.setCreatedAt(LocalDateTime.now());
+        customer.setUpdatedAt(LocalDateTime.now());
+
+        return customer;
+    }
+
+    /**
+     * Keeps the address columns of a row until the writer resolves its city; null when the row
+     * has no complete address.
+     */
+    private static PendingAddress pendingAddress(String[] cells) {
+        String addressLine1 = cells[4];
+        String addressLine2 = cells[5];
+        String cityName = cells[6];
+        String countryName = cells[7];
+        String countryCode = cells[8];
+
+        if (addressLine1 != null && !addressLine1.trim().isEmpty() &&
+            cityName != null && !cityName.trim().isEmpty() &&
+            countryName != null && !countryName.trim().isEmpty() &&
+            countryCode != null && !countryCode.trim().isEmpty()) {
+            return new PendingAddress(addressLine1, addressLine2, cityName, countryName, countryCode);
+        }
+        return null;
+    }
+
+    private void resolveAddress(ParsedRow row) {
+        PendingAddress pending = row.address();
+        if (pending == null) return;
+
+        Country country = referenceDataService.resolveCountry(pending.countryCode(), pending.countryName());
+        City city = referenceDataService.resolveCity(pending.cityName(), country);
+
+        Address address = new Address();
+        address.setAddressLine1(pending.addressLine1());
+        address.setAddressLine2(pending.addressLine2());
+        address.setCity(city);
+        address.setCustomer(row.customer());
+        row.customer().getAddresses().add(address);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(prefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    private record RawRow(int rowNum, String[] cells) {
+    }
+
+    /**
+     * NIC and mobile numbers held by the rows of one file that have not been rejected, to catch
+     * duplicates within the file without a database round-trip. A row claims all of its numbers
+     * or none, and a rejected row gives them back, so it never makes a later row look like a
+     * duplicate.
+     */
+    private static final class Claims {
+        private final Set<String> nicNumbers = new HashSet<>();
+        private final Set<String> mobileNumbers = new HashSet<>();
+
+        void claim(Customer customer) {
+            List<String> rowNicNumbers = nicNumbers(customer);
+            for (String nicNumber : rowNicNumbers) {
+                if (nicNumbers.contains(nicNumber) || Collections.frequency(rowNicNumbers, nicNumber) > 1) {
+                    throw new RuntimeException("Duplicate NIC number " + nicNumber + " in file");
+                }
+            }
+            List<String> rowMobileNumbers = mobileNumbers(customer);
+            for (String mobileNumber : rowMobileNumbers) {
+                if (mobileNumbers.contains(mobileNumber) || Collections.frequency(rowMobileNumbers, mobileNumber) > 1) {
+                    throw new RuntimeException("Duplicate mobile number " + mobileNumber + " in file");
+                }
+            }
+            nicNumbers.addAll(rowNicNumbers);
+            mobileNumbers.addAll(rowMobileNumbers);
+        }
+
+        void release(Customer customer) {
+            nicNumbers(customer).forEach(nicNumbers::remove);
+            mobileNumbers(customer).forEach(mobileNumbers::remove);
+        }
+
+        private static List<String> nicNumbers(Customer customer) {
+            List<String> nicNumbers = new ArrayList<>();
+            nicNumbers.add(customer.getNicNumber());
+            customer.getFamilyMembers().forEach(member -> nicNumbers.add(member.getNicNumber()));
+            return nicNumbers;
+        }
+
+        private static List<String> mobileNumbers(Customer customer) {
+            return customer.getMobileNumbers().stream().map(MobileNumber::getNumber).toList();
+        }
+    }
+
+    private record PendingAddress(String addressLine1, String addressLine2, String cityName,
+                                  String countryName, String countryCode) {
+    }
+
+    private record ParsedRow(int rowNum, Customer customer, PendingAddress address, String error) {
+    }
+
+    /**
+     * A parsed chunk of rows, or (with {@code expectedRows >= 0}) the row count announced by the
+     * reader before the first chunk.
+     */
+    private record Chunk(List<ParsedRow> rows, int expectedRows) {
+        static final Chunk END = new Chunk(List.of(), -1);
+
+        static Chunk expected(int dataRows) {
+            return new Chunk(List.of(), dataRows);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.customerapi.importer;
+
+import com.example.customerapi.dto.BulkUpdateReport;
+import com.example.customerapi.entity.Customer;
+import com.example.customerapi.repository.CustomerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Applies name and date-of-birth changes from rows in the bulk-import layout to existing
+ * customers, matched by NIC number.
+ *
+ * Rows are handled in chunks of {@link CustomerImporter#BATCH_SIZE}. Each chunk loads all of its
+ * customers with one {@code IN} query and only touches the ones whose values actually differ,
+ * so Hibernate's dirty checking flushes just those as JDBC-batched UPDATEs when the chunk
+ * commits. Every chunk commits on its own; a row that cannot be applied is reported and the
+ * rest of the file carries on.
+ */
+@Component
+public class CustomerUpdater {
+
+    private final CustomerRepository customerRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public CustomerUpdater(CustomerRepository customerRepository, PlatformTransactionManager transactionManager) {
+        this.customerRepository = customerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public BulkUpdateReport update(RowSource source) throws IOException {
+        Progress progress = new Progress();
+        List<UpdateRow> chunk = new ArrayList<>(CustomerImporter.BATCH_SIZE);
+        long start = System.nanoTime();
+
+        source.read((rowNum, cells) -> {
+            if (rowNum == 0) return;
+            progress.processed++;
+            UpdateRow row = parse(rowNum, cells, progress);
+            if (row == null) return;
+            chunk.add(row);
+            if (chunk.size() == CustomerImporter.BATCH_SIZE) {
+                applyChunk(chunk, progress);
+                chunk.clear();
+            }
+        });
+        if (!chunk.isEmpty()) {
+            applyChunk(chunk, progress);
+        }
+
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return new BulkUpdateReport(progress.processed, progress.updated, progress.unchanged, progress.failed,
+            seconds > 0 ? progress.processed / seconds : 0, progress.rows);
+    }
+
+    private UpdateRow parse(int rowNum, String[] cells, Progress progress) {
+        String name = cells[0];
+        String nicNumber = cells[2];
+        if (nicNumber == null || nicNumber.isBlank()) {
+            progress.failed(rowNum, nicNumber, "INVALID", "NIC number is required");
+            return null;
+        }
+        if (name == null || name.isBlank()) {
+            progress.failed(rowNum, nicNumber, "INVALID", "Name is required");
+            return null;
+        }
+        LocalDate dateOfBirth;
+        try {
+            dateOfBirth = LocalDate.parse(cells[1]);
+        } catch (Exception e) {
+            progress.failed(rowNum, nicNumber, "INVALID",
+                "Invalid date format for date of birth: " + cells[1] + ". Expected format: YYYY-MM-DD");
+            return null;
+        }
+        if (dateOfBirth.isAfter(LocalDate.now())) {
+            progress.failed(rowNum, nicNumber, "INVALID", "Date of birth must be in the past: " + cells[1]);
+            return null;
+        }
+        return new UpdateRow(rowNum, nicNumber, name, dateOfBirth);
+    }
+
+    private void applyChunk(List<UpdateRow> chunk, Progress progress) {
+        Set<String> nicNumbers = new LinkedHashSet<>();
+        for (UpdateRow row : chunk) {
+            nicNumbers.add(row.nicNumber());
+        }
+
+        List<BulkUpdateReport.RowResult> results = new ArrayList<>();
+        int[] unchanged = {0};
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<String, Customer> customers = new HashMap<>();
+                for (Customer customer : customerRepository.findAllByNicNumberIn(nicNumbers)) {
+                    customers.put(customer.getNicNumber(), customer);
+                }
+                for (UpdateRow row : chunk) {
+                    Customer customer = customers.get(row.nicNumber());
+                    if (customer == null) {
+                        results.add(new BulkUpdateReport.RowResult(row.rowNum(), row.nicNumber(), "NOT_FOUND",
+                            "Customer not found with NIC: " + row.nicNumber()));
+                    } else if (Objects.equals(customer.getName(), row.name())
+                            && Objects.equals(customer.getDateOfBirth(), row.dateOfBirth())) {
+                        unchanged[0]++;
+                    } else {
+                        customer.setName(row.name());
+                        customer.setDateOfBirth(row.dateOfBirth());
+                        results.add(new BulkUpdateReport.RowResult(row.rowNum(), row.nicNumber(), "UPDATED", null));
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            // Nothing in the chunk was written
+            for (UpdateRow row : chunk) {
+                progress.failed(row.rowNum(), row.nicNumber(), "FAILED", "Batch failed: " + e.getMessage());
+            }
+            return;
+        }
+
+        progress.unchanged += unchanged[0];
+        for (BulkUpdateReport.RowResult result : results) {
+            if ("UPDATED".equals(result.status())) {
+                progress.updated++;
+                progress.rows.add(result);
+            } else {
+                progress.failed(result.row(), result.nicNumber(), result.status(), result.message());
+            }
+        }
+    }
+
+    private record UpdateRow(int rowNum, String nicNumber, String name, LocalDate dateOfBirth) {
+    }
+
+    private static final class Progress {
+        private long processed;
+        private long updated;
+        private long unchanged;
+        private long failed;
+        private final List<BulkUpdateReport.RowResult> rows = new ArrayList<>();
+
+        void failed(int rowNum, String nicNumber, String status, String message) {
+            failed++;
+            rows.add(new BulkUpdateReport.RowResult(rowNum, nicNumber, status, message));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.customerapi.importer;
+
+import com.example.customerapi.csv.CsvRowReader;
+import com.example.customerapi.excel.CustomerTemplate;
+import com.example.customerapi.excel.StreamingSheetReader;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * The file formats a bulk import can be uploaded in. Both use the {@link CustomerTemplate}
+ * column layout and feed the same {@link CustomerImporter}.
+ */
+public enum ImportFileType {
+    XLSX(".xlsx"),
+    CSV(".csv");
+
+    private final String suffix;
+
+    ImportFileType(String suffix) {
+        this.suffix = suffix;
+    }
+
+    public String getSuffix() {
+        return suffix;
+    }
+
+    public RowSource rowSource(Path upload) {
+        if (this == CSV) {
+            CsvRowReader reader = new CsvRowReader(CustomerTemplate.COLUMN_COUNT);
+            return handler -> reader.read(upload, handler);
+        }
+        StreamingSheetReader reader = new StreamingSheetReader(CustomerTemplate.COLUMN_COUNT);
+        return handler -> reader.read(upload.toFile(), handler);
+    }
+
+    /**
+     * CSV when the upload is named {@code *.csv} or sent as {@code text/csv}, xlsx otherwise.
+     */
+    public static ImportFileType of(MultipartFile file) {
+        String name = file.getOriginalFilename();
+        if (name != null && name.toLowerCase(Locale.ROOT).endsWith(CSV.suffix)) {
+            return CSV;
+        }
+        String contentType = file.getContentType();
+        return contentType != null && contentType.startsWith("text/csv") ? CSV : XLSX;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.customerapi.importer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+public final class ImportFiles {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportFiles.class);
+
+    private ImportFiles() {
+    }
+
+    /**
+     * Copies the upload to a temp file owned by the caller. Readers then get random file access
+     * instead of inflating the whole upload in memory, and the file outlives the request.
+     */
+    public static Path spool(MultipartFile file, String suffix) {
+        try {
+            Path upload = Files.createTempFile("customer-import-", suffix);
+            try (InputStream in = file.getInputStream()) {
+                Files.copy(in, upload, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return upload;
+        } catch (IOException e) {
+            throw new RuntimeException("Error storing uploaded file", e);
+        }
+    }
+
+    public static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary file {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.customerapi.importer;
+
+import com.example.customerapi.entity.Customer;
+
+import java.util.List;
+
+/**
+ * Receives progress from {@link CustomerImporter} as the file is processed.
+ */
+public interface ImportListener {
+
+    default void expectedRows(int dataRows) {
+    }
+
+    void rowFailed(int rowNum, String message);
+
+    /**
+     * @param rowsProcessed rows read so far, including failed ones
+     * @param created       customers committed (or flushed) by this batch
+     */
+    void batchSaved(int rowsProcessed, List<Customer> created);
+
+    /**
+     * A batch could not be written. Rethrow to abort the import, or return to carry on with the
+     * next batch.
+     */
+    void batchFailed(List<Integer> rowNums, RuntimeException exception);
+}
@@ -0,0 +1,107 @@
+package com.example.customerapi.importer;
+
+import com.example.customerapi.entity.Customer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk import meters. Rows per second over any window is {@code rate(customer_import_rows_processed_total[1m])};
+ * the gauge additionally reports the average rate of the import that finished last.
+ */
+@Component
+public class ImportMetrics {
+
+    private final Counter rowsProcessed;
+    private final Counter rowsCreated;
+    private final Counter rowsFailed;
+    private final Counter batchesFailed;
+    private final Timer batchWrites;
+    private final AtomicInteger activeImports = new AtomicInteger();
+    private final AtomicLong lastRowsPerSecond = new AtomicLong();
+
+    @Autowired
+    public ImportMetrics(MeterRegistry registry) {
+        this.rowsProcessed = Counter.builder("customer.import.rows.processed")
+            .description("Data rows read from bulk import files")
+            .register(registry);
+        this.rowsCreated = Counter.builder("customer.import.customers.created")
+            .description("Customers created by bulk imports")
+            .register(registry);
+        this.rowsFailed = Counter.builder("customer.import.rows.failed")
+            .description("Bulk import rows rejected or lost with a failed batch")
+            .register(registry);
+        this.batchesFailed = Counter.builder("customer.import.batches.failed")
+            .description("Bulk import batches that could not be written")
+            .register(registry);
+        this.batchWrites = Timer.builder("customer.import.batch.write")
+            .description("Time between consecutive batches of one import, parsing and writing included")
+            .register(registry);
+        registry.gauge("customer.import.active", activeImports);
+        registry.gauge("customer.import.last.rows.per.second", lastRowsPerSecond);
+    }
+
+    /**
+     * Starts recording one import; everything the returned listener is told is also counted.
+     * Call {@link Recording#finish()} when the import is over.
+     */
+    Recording start(ImportListener listener) {
+        activeImports.incrementAndGet();
+        return new Recording(listener);
+    }
+
+    class Recording implements ImportListener {
+        private final ImportListener listener;
+        private final long started = System.nanoTime();
+        private long lastBatch = started;
+        private int lastRowsProcessed;
+
+        private Recording(ImportListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void expectedRows(int dataRows) {
+            listener.expectedRows(dataRows);
+        }
+
+        @Override
+        public void rowFailed(int rowNum, String message) {
+            rowsFailed.increment();
+            listener.rowFailed(rowNum, message);
+        }
+
+        @Override
+        public void batchSaved(int processed, List<Customer> created) {
+            long now = System.nanoTime();
+            batchWrites.record(now - lastBatch, TimeUnit.NANOSECONDS);
+            lastBatch = now;
+            rowsProcessed.increment(processed - lastRowsProcessed);
+            lastRowsProcessed = processed;
+            rowsCreated.increment(created.size());
+            listener.batchSaved(processed, created);
+        }
+
+        @Override
+        public void batchFailed(List<Integer> rowNums, RuntimeException exception) {
+            batchesFailed.increment();
+            rowsFailed.increment(rowNums.size());
+            listener.batchFailed(rowNums, exception);
+        }
+
+        void finish() {
+            activeImports.decrementAndGet();
+            double seconds = (System.nanoTime() - started) / 1e9;
+            if (lastRowsProcessed > 0 && seconds > 0) {
+                lastRowsPerSecond.set(Math.round(lastRowsProcessed / seconds));
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.customerapi.importer;
+
+@FunctionalInterface
+public interface RowHandler {
+    /**
+     * @param rowNum zero-based row index in the file, the header being row 0
+     * @param cells  one entry per template column, empty string for blank cells
+     */
+    void handleRow(int rowNum, String[] cells);
+
+    /**
+     * Called before the first row when the source knows roughly how many data rows follow.
+     */
+    default void expectedRows(int dataRows) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.customerapi.importer;
+
+import java.io.IOException;
+
+/**
+ * A file in the bulk-import column layout that can be read row by row.
+ */
+@FunctionalInterface
+public interface RowSource {
+    void read(RowHandler handler) throws IOException;
+}
@@ -1,7 +1,11 @@
 package com.example.customerapi.repository;
 
 import com.example.customerapi.entity.City;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,5 +14,10 @@ import java.util.Optional;
 @Repository
 public interface CityRepository extends JpaRepository<City, Long> {
     List<City> findByCountryId(Long countryId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<City> findByNameAndCountryId(String name, Long countryId);
+
+    @Query("SELECT ci FROM City ci JOIN FETCH ci.country")
+    List<City> findAllWithCountry();
 } 
\ No newline at end of file
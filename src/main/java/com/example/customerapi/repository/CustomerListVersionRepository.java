@@ -0,0 +1,15 @@
+package com.example.customerapi.repository;
+
+import com.example.customerapi.entity.CustomerListVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CustomerListVersionRepository extends JpaRepository<CustomerListVersion, Long> {
+
+    @Query("SELECT v.version FROM CustomerListVersion v WHERE v.id = " + CustomerListVersion.ID)
+    Optional<Long> findVersion();
+}
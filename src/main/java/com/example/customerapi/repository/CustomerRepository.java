@@ -1,24 +1,41 @@
 package com.example.customerapi.repository;
 
 import com.example.customerapi.entity.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
     Optional<Customer> findByNicNumber(String nicNumber);
     
     boolean existsByNicNumber(String nicNumber);
+
+    List<Customer> findAllByNicNumberIn(Collection<String> nicNumbers);
+
+    @Query("SELECT c.nicNumber FROM Customer c WHERE c.nicNumber IN :nicNumbers")
+    List<String> findExistingNicNumbers(@Param("nicNumbers") Collection<String> nicNumbers);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT c.nicNumber FROM Customer c")
+    Stream<String> streamAllNicNumbers();
     
-    @Query("SELECT CASE WHEN COUNT(m) > 0 THEN true ELSE false END FROM Customer c JOIN c.mobileNumbers m WHERE m.number = ?1")
-    boolean existsByMobileNumber(String number);
+    @Query("SELECT GREATEST(c.updatedAt, COALESCE(MAX(f.updatedAt), c.updatedAt)) FROM Customer c " +
+           "LEFT JOIN c.familyMembers f WHERE c.id = :id GROUP BY c.id, c.updatedAt")
+    Optional<LocalDateTime> findLastModified(@Param("id") Long id);
+
     
     @Query("SELECT c FROM Customer c LEFT JOIN FETCH c.mobileNumbers LEFT JOIN FETCH c.addresses WHERE c.id = ?1")
     Optional<Customer> findByIdWithDetails(Long id);
@@ -38,6 +55,16 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
            "LEFT JOIN FETCH ci.country")
     List<Customer> findAllWithAddressesAndCity();
 
+    @Query("SELECT c.id FROM Customer c WHERE c.id > :afterId ORDER BY c.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT DISTINCT c FROM Customer c " +
+           "LEFT JOIN FETCH c.addresses a " +
+           "LEFT JOIN FETCH a.city ci " +
+           "LEFT JOIN FETCH ci.country " +
+           "WHERE c.id IN :ids")
+    List<Customer> findAllWithAddressesAndCityByIds(@Param("ids") List<Long> ids);
+
     @Query(value = "SELECT c FROM Customer c " +
            "LEFT JOIN FETCH c.addresses a " +
            "LEFT JOIN FETCH a.city ci " +
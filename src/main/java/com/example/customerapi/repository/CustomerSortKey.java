@@ -0,0 +1,82 @@
+package com.example.customerapi.repository;
+
+import com.example.customerapi.repository.projection.CustomerRow;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A property the filtered customer list can be sorted by, typed by its values, so a cursor is
+ * parsed into the same type the keyset condition compares with.
+ *
+ * The list is sorted by the key then by id. Nulls (only {@code updatedAt} can have them) sort
+ * lowest: first ascending, last descending, which is what MariaDB and H2 do anyway.
+ */
+public final class CustomerSortKey<T extends Comparable<? super T>> {
+
+    public static final CustomerSortKey<Long> ID =
+        new CustomerSortKey<>("id", Long.class, false, Long::valueOf, CustomerRow::id);
+    public static final CustomerSortKey<String> NAME =
+        new CustomerSortKey<>("name", String.class, false, Function.identity(), CustomerRow::name);
+    public static final CustomerSortKey<LocalDate> DATE_OF_BIRTH =
+        new CustomerSortKey<>("dateOfBirth", LocalDate.class, false, LocalDate::parse, CustomerRow::dateOfBirth);
+    public static final CustomerSortKey<LocalDateTime> CREATED_AT =
+        new CustomerSortKey<>("createdAt", LocalDateTime.class, false, LocalDateTime::parse, CustomerRow::createdAt);
+    public static final CustomerSortKey<LocalDateTime> UPDATED_AT =
+        new CustomerSortKey<>("updatedAt", LocalDateTime.class, true, LocalDateTime::parse, CustomerRow::updatedAt);
+
+    private static final List<CustomerSortKey<?>> VALUES = List.of(ID, NAME, DATE_OF_BIRTH, CREATED_AT, UPDATED_AT);
+
+    private final String property;
+    private final Class<T> type;
+    private final boolean nullable;
+    private final Function<String, T> parser;
+    private final Function<CustomerRow, T> accessor;
+
+    private CustomerSortKey(String property, Class<T> type, boolean nullable, Function<String, T> parser,
+                            Function<CustomerRow, T> accessor) {
+        this.property = property;
+        this.type = type;
+        this.nullable = nullable;
+        this.parser = parser;
+        this.accessor = accessor;
+    }
+
+    public static List<CustomerSortKey<?>> values() {
+        return VALUES;
+    }
+
+    public static CustomerSortKey<?> of(String property) {
+        for (CustomerSortKey<?> key : VALUES) {
+            if (key.property.equals(property)) {
+                return key;
+            }
+        }
+        throw new IllegalArgumentException("Cannot sort customers by " + property);
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public boolean isNullable() {
+        return nullable;
+    }
+
+    public T parse(String text) {
+        return parser.apply(text);
+    }
+
+    public T valueOf(CustomerRow row) {
+        return accessor.apply(row);
+    }
+
+    /**
+     * The key as read back from a scroll position, which holds its values untyped.
+     */
+    public T cast(Object value) {
+        return type.cast(value);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.customerapi.repository;
+
+import com.example.customerapi.dto.CustomerFilter;
+import com.example.customerapi.entity.Address;
+import com.example.customerapi.entity.City;
+import com.example.customerapi.entity.Customer;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link Specification}s over {@link Customer} for the filtered list, one per {@link CustomerFilter} field,
+ * plus the keyset condition for later pages.
+ *
+ * Each one is a plain comparison on an indexed column, so the database can start from whichever
+ * index is most selective: {@code idx_customers_date_of_birth}, {@code idx_customers_created_at}
+ * and {@code idx_customers_updated_at} for the ranges, and for the location filter the countries
+ * code index, {@code idx_cities_country_name} and {@code idx_addresses_city_customer}.
+ */
+public final class CustomerSpecifications {
+
+    private CustomerSpecifications() {
+    }
+
+    public static Specification<Customer> matching(CustomerFilter filter) {
+        return Specification.where(locatedIn(filter.countryCode(), filter.city()))
+            .and(between("dateOfBirth", filter.bornFrom(), filter.bornTo(), true))
+            .and(between("createdAt", filter.createdFrom(), filter.createdTo(), false))
+            .and(between("updatedAt", filter.updatedFrom(), filter.updatedTo(), false));
+    }
+
+    /**
+     * Customers with an address in the given city and/or country. Written as
+     * {@code id IN (SELECT customer_id ...)} rather than a join, so a customer with several
+     * matching addresses is returned once without a DISTINCT over the whole page.
+     */
+    public static Specification<Customer> locatedIn(String countryCode, String cityName) {
+        if (countryCode == null && cityName == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Subquery<Long> customerIds = query.subquery(Long.class);
+            Root<Address> address = customerIds.from(Address.class);
+            Join<Address, City> city = address.join("city");
+            List<Predicate> predicates = new ArrayList<>();
+            if (countryCode != null) {
+                predicates.add(cb.equal(city.join("country").get("code"), countryCode));
+            }
+            if (cityName != null) {
+                predicates.add(cb.equal(city.get("name"), cityName));
+            }
+            customerIds.select(address.get("customer").get("id")).where(predicates.toArray(new Predicate[0]));
+            return root.get("id").in(customerIds);
+        };
+    }
+
+    /**
+     * Keyset condition for the page after the customer whose sort keys are {@code keys} (the
+     * {@code order} property and {@code id}), for a query sorted by {@code order} then id in the
+     * same direction. The leading {@code >=} on the sort property lets the database start an
+     * index range at the last value instead of evaluating an OR over every row.
+     */
+    public static Specification<Customer> after(Sort.Order order, Map<String, ?> keys) {
+        if (keys.isEmpty()) {
+            return null;
+        }
+        CustomerSortKey<?> sortKey = CustomerSortKey.of(order.getProperty());
+        return (root, query, cb) -> {
+            Long lastId = CustomerSortKey.ID.cast(keys.get("id"));
+            Predicate idAfter = order.isAscending()
+                ? cb.greaterThan(root.get("id"), lastId)
+                : cb.lessThan(root.get("id"), lastId);
+            if (sortKey == CustomerSortKey.ID) {
+                return idAfter;
+            }
+            return afterValue(cb, root, sortKey, keys.get(sortKey.property()), order.isAscending(), idAfter);
+        };
+    }
+
+    /**
+     * Nulls sort lowest (see {@link CustomerSortKey}): after a null key come the remaining nulls
+     * by id and, ascending, every customer with a value; descending, nulls follow every value.
+     */
+    private static <T extends Comparable<? super T>> Predicate afterValue(CriteriaBuilder cb, Root<Customer> root,
+                                                                         CustomerSortKey<T> sortKey, Object key,
+                                                                         boolean ascending, Predicate idAfter) {
+        Path<T> property = root.get(sortKey.property());
+        T value = sortKey.cast(key);
+        if (value == null) {
+            Predicate nullAfter = cb.and(cb.isNull(property), idAfter);
+            return ascending ? cb.or(cb.isNotNull(property), nullAfter) : nullAfter;
+        }
+        if (ascending) {
+            return cb.and(cb.greaterThanOrEqualTo(property, value), cb.or(cb.greaterThan(property, value), idAfter));
+        }
+        Predicate valueAfter = cb.and(cb.lessThanOrEqualTo(property, value), cb.or(cb.lessThan(property, value), idAfter));
+        return sortKey.isNullable() ? cb.or(valueAfter, cb.isNull(property)) : valueAfter;
+    }
+
+    /**
+     * {@code from <= attribute} and {@code attribute <= to} (or {@code < to} when
+     * {@code toInclusive} is false); either bound may be null.
+     */
+    public static <T extends Comparable<? super T>> Specification<Customer> between(String attribute, T from, T to,
+                                                                                  boolean toInclusive) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>(2);
+            if (from != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get(attribute), from));
+            }
+            if (to != null) {
+                predicates.add(toInclusive
+                    ? cb.lessThanOrEqualTo(root.get(attribute), to)
+                    : cb.lessThan(root.get(attribute), to));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
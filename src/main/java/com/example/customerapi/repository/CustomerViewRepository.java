@@ -0,0 +1,107 @@
+package com.example.customerapi.repository;
+
+import com.example.customerapi.dto.CustomerSuggestion;
+import com.example.customerapi.entity.Customer;
+import com.example.customerapi.repository.projection.AddressRow;
+import com.example.customerapi.repository.projection.CustomerRow;
+import com.example.customerapi.repository.projection.FamilyLinkRow;
+import com.example.customerapi.repository.projection.FamilyMemberRow;
+import com.example.customerapi.repository.projection.MobileNumberRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Flat, read-only projections used to build list responses without loading managed entities.
+ */
+@Repository
+public interface CustomerViewRepository extends org.springframework.data.repository.Repository<Customer, Long>,
+                                                CustomerViewRepositoryCustom {
+
+    @Query("SELECT new com.example.customerapi.repository.projection.CustomerRow(" +
+           "c.id, c.name, c.dateOfBirth, c.nicNumber, c.createdAt, c.updatedAt) " +
+           "FROM Customer c ORDER BY c.id")
+    List<CustomerRow> findCustomerRows(Pageable pageable);
+
+    @Query("SELECT new com.example.customerapi.repository.projection.CustomerRow(" +
+           "c.id, c.name, c.dateOfBirth, c.nicNumber, c.createdAt, c.updatedAt) " +
+           "FROM Customer c WHERE c.id > :afterId ORDER BY c.id")
+    List<CustomerRow> findCustomerRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Prefix searches: LIKE 'prefix%' is a range scan on the column's index. '!' escapes % and _
+    // in the prefix (a backslash would need escaping itself on MariaDB).
+
+    @Query("SELECT new com.example.customerapi.repository.projection.CustomerRow(" +
+           "c.id, c.name, c.dateOfBirth, c.nicNumber, c.createdAt, c.updatedAt) " +
+           "FROM Customer c WHERE c.name LIKE :prefix ESCAPE '!' ORDER BY c.name, c.id")
+    List<CustomerRow> findCustomerRowsByNamePrefix(@Param("prefix") String prefix, Pageable pageable);
+
+    @Query("SELECT new com.example.customerapi.repository.projection.CustomerRow(" +
+           "c.id, c.name, c.dateOfBirth, c.nicNumber, c.createdAt, c.updatedAt) " +
+           "FROM Customer c WHERE c.nicNumber LIKE :prefix ESCAPE '!' ORDER BY c.nicNumber")
+    List<CustomerRow> findCustomerRowsByNicPrefix(@Param("prefix") String prefix, Pageable pageable);
+
+    @Query("SELECT DISTINCT new com.example.customerapi.repository.projection.CustomerRow(" +
+           "c.id, c.name, c.dateOfBirth, c.nicNumber, c.createdAt, c.updatedAt) " +
+           "FROM MobileNumber m JOIN m.customer c WHERE m.number LIKE :prefix ESCAPE '!' ORDER BY c.id")
+    List<CustomerRow> findCustomerRowsByMobilePrefix(@Param("prefix") String prefix, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.customerapi.dto.CustomerSuggestion(c.id, c.name, c.nicNumber) FROM Customer c")
+    Stream<CustomerSuggestion> streamAllSuggestions();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.customerapi.repository.projection.MobileNumberRow(m.customer.id, m.number) FROM MobileNumber m")
+    Stream<MobileNumberRow> streamAllMobileNumberRows();
+
+    @Query("SELECT new com.example.customerapi.repository.projection.MobileNumberRow(m.customer.id, m.number) " +
+           "FROM MobileNumber m WHERE m.customer.id IN :ids ORDER BY m.id")
+    List<MobileNumberRow> findMobileNumberRows(@Param("ids") List<Long> ids);
+
+    // Reads the customer id from mobile_numbers itself, so this is a lookup on the unique number index
+    @Query("SELECT new com.example.customerapi.repository.projection.MobileNumberRow(m.customer.id, m.number) " +
+           "FROM MobileNumber m WHERE m.number IN :numbers")
+    List<MobileNumberRow> findMobileNumberRowsByNumbers(@Param("numbers") Collection<String> numbers);
+
+    @Query("SELECT new com.example.customerapi.repository.projection.AddressRow(" +
+           "a.customer.id, a.addressLine1, a.addressLine2, ci.name) " +
+           "FROM Address a LEFT JOIN a.city ci WHERE a.customer.id IN :ids ORDER BY a.id")
+    List<AddressRow> findAddressRows(@Param("ids") List<Long> ids);
+
+    @Query("SELECT new com.example.customerapi.repository.projection.FamilyMemberRow(" +
+           "c.id, f.id, f.name, f.dateOfBirth, f.nicNumber) " +
+           "FROM Customer c JOIN c.familyMembers f WHERE c.id IN :ids ORDER BY f.id")
+    List<FamilyMemberRow> findFamilyMemberRows(@Param("ids") List<Long> ids);
+
+    /**
+     * Family links touching any of the given customers, in either direction. The two halves
+     * read {@code customer_family_members} through its customer_id and family_member_id
+     * indexes; an OR over both columns would scan the table instead.
+     */
+    @Query("SELECT new com.example.customerapi.repository.projection.FamilyLinkRow(c.id, f.id) " +
+           "FROM Customer c JOIN c.familyMembers f WHERE c.id IN :ids " +
+           "UNION " +
+           "SELECT new com.example.customerapi.repository.projection.FamilyLinkRow(c.id, f.id) " +
+           "FROM Customer c JOIN c.familyMembers f WHERE f.id IN :ids")
+    List<FamilyLinkRow> findFamilyLinks(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Family links from any of {@code customerIds} to any of {@code familyMemberIds}.
+     */
+    @Query("SELECT new com.example.customerapi.repository.projection.FamilyLinkRow(c.id, f.id) " +
+           "FROM Customer c JOIN c.familyMembers f WHERE c.id IN :customerIds AND f.id IN :familyMemberIds")
+    List<FamilyLinkRow> findFamilyLinksBetween(@Param("customerIds") Collection<Long> customerIds,
+                                               @Param("familyMemberIds") Collection<Long> familyMemberIds);
+
+    @Query("SELECT new com.example.customerapi.dto.CustomerSuggestion(c.id, c.name, c.nicNumber) " +
+           "FROM Customer c WHERE c.id IN :ids")
+    List<CustomerSuggestion> findSuggestionsByIds(@Param("ids") Collection<Long> ids);
+}
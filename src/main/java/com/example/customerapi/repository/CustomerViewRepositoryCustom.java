@@ -0,0 +1,20 @@
+package com.example.customerapi.repository;
+
+import com.example.customerapi.entity.Customer;
+import com.example.customerapi.repository.projection.CustomerRow;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Criteria queries of {@link CustomerViewRepository} that Spring Data cannot derive.
+ */
+public interface CustomerViewRepositoryCustom {
+
+    /**
+     * The first {@code limit} customers matching {@code specification} in {@code sort} order,
+     * as flat rows.
+     */
+    List<CustomerRow> findCustomerRows(Specification<Customer> specification, Sort sort, int limit);
+}
@@ -0,0 +1,62 @@
+package com.example.customerapi.repository;
+
+import com.example.customerapi.entity.Customer;
+import com.example.customerapi.repository.projection.CustomerRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Selects {@link CustomerRow}s straight from the criteria query, so a filtered page never
+ * hydrates (or second-level caches) customer entities. Unlike the fluent {@code findBy} of
+ * Spring Data JPA 3.2, the sort is applied exactly once, which keeps it usable as an index order.
+ */
+class CustomerViewRepositoryImpl implements CustomerViewRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<CustomerRow> findCustomerRows(Specification<Customer> specification, Sort sort, int limit) {
+        HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        CriteriaQuery<CustomerRow> query = cb.createQuery(CustomerRow.class);
+        Root<Customer> customer = query.from(Customer.class);
+        query.select(cb.construct(CustomerRow.class,
+            customer.get("id"),
+            customer.get("name"),
+            customer.get("dateOfBirth"),
+            customer.get("nicNumber"),
+            customer.get("createdAt"),
+            customer.get("updatedAt")));
+        Predicate predicate = specification.toPredicate(customer, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(orders(sort, customer, cb));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * Nulls sort lowest in either direction, as {@link CustomerSpecifications#after} assumes. That is
+     * already the MariaDB and H2 default, so Hibernate renders no NULLS clause and the index order holds.
+     */
+    private static List<Order> orders(Sort sort, Root<Customer> customer, HibernateCriteriaBuilder cb) {
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            orders.add(order.isAscending()
+                ? cb.asc(customer.get(order.getProperty()), true)
+                : cb.desc(customer.get(order.getProperty()), false));
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.customerapi.repository.projection;
+
+public record AddressRow(Long customerId, String addressLine1, String addressLine2, String cityName) {
+}
@@ -0,0 +1,14 @@
+package com.example.customerapi.repository.projection;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record CustomerRow(
+    Long id,
+    String name,
+    LocalDate dateOfBirth,
+    String nicNumber,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,7 @@
+package com.example.customerapi.repository.projection;
+
+/**
+ * One row of {@code customer_family_members}: {@code customerId} lists {@code familyMemberId} as family.
+ */
+public record FamilyLinkRow(Long customerId, Long familyMemberId) {
+}
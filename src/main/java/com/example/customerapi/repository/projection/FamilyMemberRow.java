@@ -0,0 +1,6 @@
+package com.example.customerapi.repository.projection;
+
+import java.time.LocalDate;
+
+public record FamilyMemberRow(Long customerId, Long id, String name, LocalDate dateOfBirth, String nicNumber) {
+}
@@ -0,0 +1,4 @@
+package com.example.customerapi.repository.projection;
+
+public record MobileNumberRow(Long customerId, String number) {
+}
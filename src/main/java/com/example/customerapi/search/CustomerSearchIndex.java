@@ -0,0 +1,250 @@
+package com.example.customerapi.search;
+
+import com.example.customerapi.dto.CustomerSuggestion;
+import com.example.customerapi.entity.Customer;
+import com.example.customerapi.entity.MobileNumber;
+import com.example.customerapi.repository.CustomerViewRepository;
+import com.example.customerapi.repository.projection.MobileNumberRow;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory prefix index over customer names, NIC numbers and mobile numbers for type-ahead,
+ * enabled with {@code customerapi.search.index.enabled}.
+ *
+ * Each field is a sorted map from its lower-cased value to the customer id, so a prefix lookup
+ * is a range walk that stops after {@code limit} hits and never touches the database. It is
+ * loaded on startup and kept up to date by post-commit entity listeners, which see every write
+ * made through Hibernate (single creates and updates, imports, bulk updates); set-based deletes
+ * report theirs through {@link #removeCustomers(Collection, Collection)}. Rows written directly
+ * in the database or by another instance are only picked up by {@link #rebuild()}. Until the
+ * first load has finished, {@link #isReady()} is false and callers should query the database
+ * instead.
+ */
+@Component
+public class CustomerSearchIndex {
+
+    // Separates a name from the id, so customers with the same name get their own entries
+    private static final char ID_SEPARATOR = '\u0000';
+
+    private final CustomerViewRepository customerViewRepository;
+    private final boolean enabled;
+
+    private final Map<Long, CustomerSuggestion> customersById = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Long> names = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, Long> nicNumbers = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, Long> mobileNumbers = new ConcurrentSkipListMap<>();
+
+    private volatile boolean ready;
+
+    @Autowired
+    public CustomerSearchIndex(CustomerViewRepository customerViewRepository,
+                               EntityManagerFactory entityManagerFactory,
+                               @Value("${customerapi.search.index.enabled:false}") boolean enabled) {
+        this.customerViewRepository = customerViewRepository;
+        this.enabled = enabled;
+        if (enabled) {
+            EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+            IndexingListener listener = new IndexingListener();
+            listeners.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+            listeners.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+            listeners.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return customersById.size();
+    }
+
+    /**
+     * Reloads every customer and mobile number from the database.
+     */
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) return;
+        ready = false;
+        customersById.clear();
+        names.clear();
+        nicNumbers.clear();
+        mobileNumbers.clear();
+        try (Stream<CustomerSuggestion> customers = customerViewRepository.streamAllSuggestions()) {
+            customers.forEach(this::putCustomer);
+        }
+        try (Stream<MobileNumberRow> numbers = customerViewRepository.streamAllMobileNumberRows()) {
+            numbers.forEach(row -> putMobileNumber(row.number(), row.customerId()));
+        }
+        ready = true;
+    }
+
+    /**
+     * For customers deleted without entity events (set-based deletes). Call after commit.
+     */
+    public void removeCustomers(Collection<Long> ids, Collection<MobileNumberRow> mobileNumbers) {
+        if (!enabled) return;
+        ids.forEach(this::removeCustomer);
+        mobileNumbers.forEach(row -> removeMobileNumber(row.number(), row.customerId()));
+    }
+
+    /**
+     * Customers whose name, NIC number or mobile number starts with {@code query} (ignoring case),
+     * name matches first, at most {@code limit} of them.
+     */
+    public List<CustomerSuggestion> suggest(String query, int limit) {
+        String prefix = normalize(query);
+        Set<Long> ids = new LinkedHashSet<>();
+        collect(names, prefix, ids, limit);
+        collect(nicNumbers, prefix, ids, limit);
+        collect(mobileNumbers, prefix, ids, limit);
+
+        List<CustomerSuggestion> suggestions = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            CustomerSuggestion suggestion = customersById.get(id);
+            if (suggestion != null) {
+                suggestions.add(suggestion);
+            }
+        }
+        return suggestions;
+    }
+
+    private static void collect(NavigableMap<String, Long> index, String prefix, Set<Long> ids, int limit) {
+        if (prefix.isEmpty()) return;
+        for (Long id : index.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            if (ids.size() >= limit) return;
+            ids.add(id);
+        }
+    }
+
+    private synchronized void putCustomer(CustomerSuggestion customer) {
+        CustomerSuggestion previous = customersById.put(customer.id(), customer);
+        if (previous != null) {
+            names.remove(nameKey(previous));
+            nicNumbers.remove(normalize(previous.nicNumber()), previous.id());
+        }
+        names.put(nameKey(customer), customer.id());
+        nicNumbers.put(normalize(customer.nicNumber()), customer.id());
+    }
+
+    private synchronized void removeCustomer(Long id) {
+        CustomerSuggestion previous = customersById.remove(id);
+        if (previous != null) {
+            names.remove(nameKey(previous));
+            nicNumbers.remove(normalize(previous.nicNumber()), previous.id());
+        }
+    }
+
+    private void putMobileNumber(String number, Long customerId) {
+        mobileNumbers.put(normalize(number), customerId);
+    }
+
+    private void removeMobileNumber(String number, Long customerId) {
+        mobileNumbers.remove(normalize(number), customerId);
+    }
+
+    private static String nameKey(CustomerSuggestion customer) {
+        return normalize(customer.name()) + ID_SEPARATOR + customer.id();
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static CustomerSuggestion suggestionOf(Customer customer) {
+        return new CustomerSuggestion(customer.getId(), customer.getName(), customer.getNicNumber());
+    }
+
+    /**
+     * Mobile numbers are replaced rather than edited in place, so only their inserts and
+     * deletes matter.
+     */
+    private class IndexingListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+                                                PostCommitDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            if (event.getEntity() instanceof Customer customer) {
+                putCustomer(suggestionOf(customer));
+            } else if (event.getEntity() instanceof MobileNumber mobileNumber && mobileNumber.getCustomer() != null) {
+                putMobileNumber(mobileNumber.getNumber(), mobileNumber.getCustomer().getId());
+            }
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            if (event.getEntity() instanceof Customer customer) {
+                putCustomer(suggestionOf(customer));
+            }
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            if (event.getEntity() instanceof Customer customer) {
+                removeCustomer(customer.getId());
+            } else if (event.getEntity() instanceof MobileNumber mobileNumber && mobileNumber.getCustomer() != null) {
+                removeMobileNumber(mobileNumber.getNumber(), mobileNumber.getCustomer().getId());
+            }
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            Class<?> type = persister.getMappedClass();
+            return Customer.class.equals(type) || MobileNumber.class.equals(type);
+        }
+    }
+}
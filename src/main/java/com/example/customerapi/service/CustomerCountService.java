@@ -0,0 +1,18 @@
+package com.example.customerapi.service;
+
+public interface CustomerCountService {
+    /**
+     * Number of customers, maintained in memory and reconciled with the database periodically.
+     */
+    long getCount();
+
+    /**
+     * For writes that bypass Hibernate entity events (e.g. JPQL bulk deletes). Call after commit.
+     */
+    void adjust(long delta);
+
+    /**
+     * Re-reads the count from the database.
+     */
+    long reconcile();
+}
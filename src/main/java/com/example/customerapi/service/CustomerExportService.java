@@ -0,0 +1,23 @@
+package com.example.customerapi.service;
+
+import com.example.customerapi.export.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Optional;
+
+public interface CustomerExportService {
+    /**
+     * Takes one of the {@code customerapi.export.max-concurrent} export slots, or returns empty
+     * when all are in use. An export holds a pooled connection until the client has read the last
+     * byte, so the slots keep exports from draining the pool. Close the slot when the export ends.
+     */
+    Optional<ExportSlot> reserveSlot();
+
+    long exportCustomers(ExportFormat format, OutputStream outputStream) throws IOException;
+
+    interface ExportSlot extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
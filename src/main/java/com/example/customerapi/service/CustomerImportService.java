@@ -0,0 +1,13 @@
+package com.example.customerapi.service;
+
+import com.example.customerapi.dto.ImportJobStatus;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface CustomerImportService {
+    ImportJobStatus submitImport(MultipartFile file);
+    Optional<ImportJobStatus> getJobStatus(String jobId);
+    List<ImportJobStatus> getJobs();
+}
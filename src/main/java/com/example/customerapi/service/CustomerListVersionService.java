@@ -0,0 +1,14 @@
+package com.example.customerapi.service;
+
+public interface CustomerListVersionService {
+    /**
+     * Version of the customer list, read from the database by primary key.
+     */
+    long getVersion();
+
+    /**
+     * For writes that bypass Hibernate entity events (e.g. JPQL bulk deletes): moves the version
+     * on when the current transaction commits. Call inside the transaction.
+     */
+    void changed();
+}
@@ -1,20 +1,43 @@
 package com.example.customerapi.service;
 
 import com.example.customerapi.entity.Customer;
+import com.example.customerapi.dto.BulkDeleteReport;
+import com.example.customerapi.dto.BulkDeleteRequest;
+import com.example.customerapi.dto.BulkUpdateReport;
 import com.example.customerapi.dto.CustomerCreateRequest;
+import com.example.customerapi.dto.CustomerFilter;
+import com.example.customerapi.dto.CustomerSuggestion;
+import com.example.customerapi.dto.CustomerView;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface CustomerService {
     Customer createCustomer(CustomerCreateRequest request);
     List<Customer> getAllCustomers();
     List<Customer> getAllCustomersPaginated(int page, int size);
+    List<CustomerView> getCustomerViews(int page, int size);
+    List<CustomerView> getCustomerViewsAfter(Long afterId, int size);
+    List<CustomerView> searchCustomers(String name, String nicNumber, String mobileNumber, int limit);
+    List<CustomerSuggestion> suggestCustomers(String query, int limit);
+    Window<CustomerView> filterCustomers(CustomerFilter filter, Sort.Order order, KeysetScrollPosition position, int size);
     long getTotalCustomerCount();
+    long getCustomerListVersion();
+    long getCachedCustomerCount();
+    Optional<LocalDateTime> getCustomerLastModified(Long id);
     Customer getCustomerById(Long id);
     Customer updateCustomer(Long id, CustomerCreateRequest request);
     void deleteCustomer(Long id);
+    BulkDeleteReport deleteCustomers(BulkDeleteRequest request);
     List<Customer> bulkCreateCustomers(MultipartFile file);
-    List<Customer> bulkUpdateCustomers(MultipartFile file);
+    List<Customer> bulkCreateCustomersFromCsv(MultipartFile file);
+    BulkUpdateReport bulkUpdateCustomers(MultipartFile file);
     byte[] generateCustomerTemplate();
+    void writeCustomerTemplate(OutputStream outputStream);
 } 
\ No newline at end of file
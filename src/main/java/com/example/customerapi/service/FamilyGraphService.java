@@ -0,0 +1,7 @@
+package com.example.customerapi.service;
+
+import com.example.customerapi.dto.FamilyGraph;
+
+public interface FamilyGraphService {
+    FamilyGraph getFamilyGraph(Long customerId, int depth);
+}
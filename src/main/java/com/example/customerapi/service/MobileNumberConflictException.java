@@ -0,0 +1,26 @@
+package com.example.customerapi.service;
+
+import com.example.customerapi.dto.MobileNumberConflict;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class MobileNumberConflictException extends RuntimeException {
+
+    private final List<MobileNumberConflict> conflicts;
+
+    public MobileNumberConflictException(List<MobileNumberConflict> conflicts) {
+        super(conflicts.stream().map(MobileNumberConflictException::describe).collect(Collectors.joining("; ")));
+        this.conflicts = List.copyOf(conflicts);
+    }
+
+    public List<MobileNumberConflict> getConflicts() {
+        return conflicts;
+    }
+
+    private static String describe(MobileNumberConflict conflict) {
+        return "DUPLICATE".equals(conflict.status())
+            ? "Mobile number " + conflict.number() + " is given more than once"
+            : "Mobile number " + conflict.number() + " is already registered to another customer";
+    }
+}
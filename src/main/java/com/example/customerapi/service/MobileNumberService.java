@@ -0,0 +1,20 @@
+package com.example.customerapi.service;
+
+import com.example.customerapi.dto.MobileNumberConflict;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface MobileNumberService {
+    /**
+     * The given numbers that are already registered, mapped to the customer holding each.
+     */
+    Map<String, Long> findExisting(Collection<String> numbers);
+
+    /**
+     * Conflicts for numbers about to be saved for one customer: numbers listed more than once and
+     * numbers registered to anyone other than {@code customerId} (null for a new customer).
+     */
+    List<MobileNumberConflict> findConflicts(List<String> numbers, Long customerId);
+}
@@ -0,0 +1,9 @@
+package com.example.customerapi.service;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface NicNumberService {
+    Set<String> findExisting(Collection<String> nicNumbers);
+    void register(String nicNumber);
+}
@@ -0,0 +1,12 @@
+package com.example.customerapi.service;
+
+import com.example.customerapi.dto.ReferenceDataCacheStats;
+import com.example.customerapi.entity.City;
+import com.example.customerapi.entity.Country;
+
+public interface ReferenceDataService {
+    Country resolveCountry(String code, String name);
+    City resolveCity(String name, Country country);
+    ReferenceDataCacheStats getCacheStats();
+    void reload();
+}
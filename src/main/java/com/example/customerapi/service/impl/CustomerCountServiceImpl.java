@@ -0,0 +1,124 @@
+package com.example.customerapi.service.impl;
+
+import com.example.customerapi.entity.Customer;
+import com.example.customerapi.repository.CustomerRepository;
+import com.example.customerapi.service.CustomerCountService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the number of customers in memory so list pages do not need a {@code COUNT(*)}, which
+ * is a full index scan on InnoDB.
+ *
+ * Every customer inserted or deleted through Hibernate (single creates, imports, family members
+ * created along the way, deletes) is counted once its transaction has committed, through
+ * post-commit entity event listeners. Writes that bypass entity events must call
+ * {@link #adjust(long)}. The count is re-read from the database on startup and every
+ * {@code customerapi.customer-count.reconcile-interval}, which also picks up rows written by
+ * other instances or directly in the database.
+ */
+@Service
+public class CustomerCountServiceImpl implements CustomerCountService {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerCountServiceImpl.class);
+
+    private final CustomerRepository customerRepository;
+    private final AtomicLong count = new AtomicLong();
+    // Running total of every adjustment, to tell which ones happened while reconciling
+    private final AtomicLong adjustments = new AtomicLong();
+
+    private volatile boolean initialized;
+
+    @Autowired
+    public CustomerCountServiceImpl(CustomerRepository customerRepository, EntityManagerFactory entityManagerFactory) {
+        this.customerRepository = customerRepository;
+        EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        CountingListener listener = new CountingListener();
+        listeners.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        listeners.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reconcile();
+    }
+
+    @Override
+    public long getCount() {
+        if (!initialized) {
+            reconcile();
+        }
+        return count.get();
+    }
+
+    @Override
+    public void adjust(long delta) {
+        adjustments.addAndGet(delta);
+        count.addAndGet(delta);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${customerapi.customer-count.reconcile-interval:PT5M}",
+               initialDelayString = "${customerapi.customer-count.reconcile-interval:PT5M}")
+    public synchronized long reconcile() {
+        long adjustmentsBefore = adjustments.get();
+        long counted = customerRepository.count();
+        // Adjustments made while counting may or may not be in the result; keep them, the next
+        // reconcile corrects any overlap
+        long reconciled = counted + (adjustments.get() - adjustmentsBefore);
+        long previous = count.getAndSet(reconciled);
+        if (initialized && previous != reconciled) {
+            log.warn("Customer count was {}, database has {}; corrected", previous, reconciled);
+        }
+        initialized = true;
+        return reconciled;
+    }
+
+    private class CountingListener implements PostCommitInsertEventListener, PostCommitDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            if (event.getEntity() instanceof Customer) {
+                adjust(1);
+            }
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            if (event.getEntity() instanceof Customer) {
+                adjust(-1);
+            }
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return Customer.class.equals(persister.getMappedClass());
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.customerapi.service.impl;
+
+import com.example.customerapi.dto.BulkDeleteReport;
+import com.example.customerapi.repository.CustomerViewRepository;
+import com.example.customerapi.repository.projection.MobileNumberRow;
+import com.example.customerapi.search.CustomerSearchIndex;
+import com.example.customerapi.service.CustomerCountService;
+import com.example.customerapi.service.CustomerListVersionService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Deletes customers with a fixed number of set-based statements per chunk instead of loading
+ * each customer and its collections: mobile numbers, addresses, legacy family member rows,
+ * family links in both directions and finally the customers, each one {@code DELETE ... IN}.
+ * Customers that listed a deleted customer as family get a new {@code updatedAt}, since their
+ * family member list (and so their ETag) changes.
+ *
+ * Hibernate evicts the second-level cache regions of the tables these statements touch when
+ * they run. They raise no entity events, so the list version is moved on explicitly, and the
+ * customer count and the search index are told about the deleted customers once the
+ * transaction has committed.
+ */
+@Component
+public class CustomerDeleter {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final CustomerViewRepository customerViewRepository;
+    private final CustomerCountService customerCountService;
+    private final CustomerListVersionService customerListVersionService;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public CustomerDeleter(CustomerViewRepository customerViewRepository,
+                           CustomerCountService customerCountService,
+                           CustomerListVersionService customerListVersionService,
+                           CustomerSearchIndex customerSearchIndex,
+                           PlatformTransactionManager transactionManager) {
+        this.customerViewRepository = customerViewRepository;
+        this.customerCountService = customerCountService;
+        this.customerListVersionService = customerListVersionService;
+        this.customerSearchIndex = customerSearchIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Deletes the given customers in the caller's transaction and returns the ids that existed.
+     */
+    public List<Long> delete(Collection<Long> ids) {
+        List<Long> existing = entityManager.createQuery(
+                "SELECT c.id FROM Customer c WHERE c.id IN :ids", Long.class)
+            .setParameter("ids", ids)
+            .getResultList();
+        deleteExisting(existing);
+        return existing;
+    }
+
+    /**
+     * Deletes customers by id and by NIC number, {@value #CHUNK_SIZE} at a time. Every chunk
+     * commits on its own; a chunk that fails is reported and the rest carry on.
+     */
+    public BulkDeleteReport deleteAll(List<Long> ids, List<String> nicNumbers) {
+        Progress progress = new Progress();
+        long start = System.nanoTime();
+
+        List<Long> uniqueIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        for (int from = 0; from < uniqueIds.size(); from += CHUNK_SIZE) {
+            deleteIdChunk(uniqueIds.subList(from, Math.min(from + CHUNK_SIZE, uniqueIds.size())), progress);
+        }
+        List<String> uniqueNicNumbers = new ArrayList<>(new LinkedHashSet<>(nicNumbers));
+        for (int from = 0; from < uniqueNicNumbers.size(); from += CHUNK_SIZE) {
+            deleteNicChunk(uniqueNicNumbers.subList(from, Math.min(from + CHUNK_SIZE, uniqueNicNumbers.size())), progress);
+        }
+
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return new BulkDeleteReport(uniqueIds.size() + uniqueNicNumbers.size(), progress.deleted, progress.notFound,
+            progress.failed, seconds > 0 ? progress.deleted / seconds : 0, progress.items);
+    }
+
+    private void deleteIdChunk(List<Long> chunk, Progress progress) {
+        List<Long> deleted;
+        try {
+            deleted = transactionTemplate.execute(status -> delete(chunk));
+        } catch (RuntimeException e) {
+            // Nothing in the chunk was deleted
+            chunk.forEach(id -> progress.failed(id, null, e));
+            return;
+        }
+        progress.deleted += deleted.size();
+        Set<Long> found = new HashSet<>(deleted);
+        for (Long id : chunk) {
+            if (!found.contains(id)) {
+                progress.notFound(id, null);
+            }
+        }
+    }
+
+    private void deleteNicChunk(List<String> chunk, Progress progress) {
+        Map<String, Long> deleted;
+        try {
+            deleted = transactionTemplate.execute(status -> {
+                Map<String, Long> idsByNic = new LinkedHashMap<>();
+                entityManager.createQuery("SELECT c.nicNumber, c.id FROM Customer c WHERE c.nicNumber IN :nicNumbers",
+                        Object[].class)
+                    .setParameter("nicNumbers", chunk)
+                    .getResultList()
+                    .forEach(row -> idsByNic.put((String) row[0], (Long) row[1]));
+                deleteExisting(new ArrayList<>(idsByNic.values()));
+                return idsByNic;
+            });
+        } catch (RuntimeException e) {
+            chunk.forEach(nicNumber -> progress.failed(null, nicNumber, e));
+            return;
+        }
+        progress.deleted += deleted.size();
+        for (String nicNumber : chunk) {
+            if (!deleted.containsKey(nicNumber)) {
+                progress.notFound(null, nicNumber);
+            }
+        }
+    }
+
+    private void deleteExisting(List<Long> ids) {
+        if (ids.isEmpty()) return;
+        List<MobileNumberRow> mobileNumbers = customerSearchIndex.isEnabled()
+            ? customerViewRepository.findMobileNumberRows(ids)
+            : List.of();
+
+        entityManager.createQuery(
+                "UPDATE Customer c SET c.updatedAt = :now WHERE c.id NOT IN :ids AND c.id IN " +
+                "(SELECT p.id FROM Customer p JOIN p.familyMembers f WHERE f.id IN :ids)")
+            .setParameter("now", LocalDateTime.now())
+            .setParameter("ids", ids)
+            .executeUpdate();
+        entityManager.createQuery("DELETE FROM MobileNumber m WHERE m.customer.id IN :ids")
+            .setParameter("ids", ids)
+            .executeUpdate();
+        entityManager.createQuery("DELETE FROM Address a WHERE a.customer.id IN :ids")
+            .setParameter("ids", ids)
+            .executeUpdate();
+        entityManager.createQuery("DELETE FROM FamilyMember f WHERE f.customer.id IN :ids")
+            .setParameter("ids", ids)
+            .executeUpdate();
+        // Hibernate deletes the customers' family links (both columns) before the customers themselves
+        int deleted = entityManager.createQuery("DELETE FROM Customer c WHERE c.id IN :ids")
+            .setParameter("ids", ids)
+            .executeUpdate();
+        customerListVersionService.changed();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                customerCountService.adjust(-deleted);
+                customerSearchIndex.removeCustomers(ids, mobileNumbers);
+            }
+        });
+    }
+
+    private static class Progress {
+        long deleted;
+        long notFound;
+        long failed;
+        final List<BulkDeleteReport.Item> items = new ArrayList<>();
+
+        void notFound(Long id, String nicNumber) {
+            notFound++;
+            items.add(new BulkDeleteReport.Item(id, nicNumber, "NOT_FOUND", null));
+        }
+
+        void failed(Long id, String nicNumber, RuntimeException e) {
+            failed++;
+            items.add(new BulkDeleteReport.Item(id, nicNumber, "FAILED", "Batch failed: " + e.getMessage()));
+        }
+    }
+}
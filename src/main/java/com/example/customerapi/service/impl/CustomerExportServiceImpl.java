@@ -0,0 +1,167 @@
+package com.example.customerapi.service.impl;
+
+import com.example.customerapi.dto.CustomerExport;
+import com.example.customerapi.export.CsvCustomerWriter;
+import com.example.customerapi.export.CustomerExportWriter;
+import com.example.customerapi.export.ExportFormat;
+import com.example.customerapi.export.NdjsonCustomerWriter;
+import com.example.customerapi.service.CustomerExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Exports every customer through one forward-only scroll over a stateless session, so nothing
+ * is attached to a persistence context or kept in the second-level cache.
+ *
+ * Customers are joined with their mobile numbers, addresses (with city and country) and family
+ * members and ordered by id, which keeps all rows of a customer together: only the customer
+ * currently being assembled is held in memory. A customer with several mobile numbers,
+ * addresses and family members comes back as the product of those counts, which is cheap for
+ * the handful each customer has and avoids a second query per customer.
+ *
+ * The scroll is one read-only transaction, so an export holds one pooled connection from the
+ * first row until the client has read the last byte, which for a slow or gzip-compressing client
+ * can be up to {@code spring.mvc.async.request-timeout}. At most
+ * {@code customerapi.export.max-concurrent} exports run at once; further requests are refused
+ * instead of queueing for connections the rest of the API needs.
+ */
+@Service
+public class CustomerExportServiceImpl implements CustomerExportService {
+
+    private static final String EXPORT_QUERY =
+        "SELECT c.id, c.name, c.dateOfBirth, c.nicNumber, m.number, " +
+        "a.id, a.addressLine1, a.addressLine2, ci.name, co.name, f.nicNumber " +
+        "FROM Customer c " +
+        "LEFT JOIN c.mobileNumbers m " +
+        "LEFT JOIN c.addresses a " +
+        "LEFT JOIN a.city ci " +
+        "LEFT JOIN ci.country co " +
+        "LEFT JOIN c.familyMembers f " +
+        "ORDER BY c.id";
+
+    private final SessionFactory sessionFactory;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+    private final Semaphore slots;
+
+    @Autowired
+    public CustomerExportServiceImpl(EntityManagerFactory entityManagerFactory,
+                                     ObjectMapper objectMapper,
+                                     @Value("${customerapi.export.fetch-size:1000}") int fetchSize,
+                                     @Value("${customerapi.export.max-concurrent:2}") int maxConcurrent) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+        this.slots = new Semaphore(maxConcurrent);
+    }
+
+    @Override
+    public Optional<ExportSlot> reserveSlot() {
+        if (!slots.tryAcquire()) {
+            return Optional.empty();
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return Optional.of(() -> {
+            if (released.compareAndSet(false, true)) {
+                slots.release();
+            }
+        });
+    }
+
+    @Override
+    public long exportCustomers(ExportFormat format, OutputStream outputStream) throws IOException {
+        CustomerExportWriter writer = format == ExportFormat.CSV
+            ? new CsvCustomerWriter(outputStream)
+            : new NdjsonCustomerWriter(objectMapper, outputStream);
+
+        long exported = 0;
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            Transaction transaction = session.beginTransaction();
+            try (ScrollableResults<Object[]> rows = session.createSelectionQuery(EXPORT_QUERY, Object[].class)
+                    .setFetchSize(fetchSize)
+                    .setReadOnly(true)
+                    .scroll(ScrollMode.FORWARD_ONLY)) {
+                CustomerRows current = null;
+                while (rows.next()) {
+                    Object[] row = rows.get();
+                    Long id = (Long) row[0];
+                    if (current == null || !current.id.equals(id)) {
+                        if (current != null) {
+                            writer.write(current.toExport());
+                            exported++;
+                        }
+                        current = new CustomerRows(id, (String) row[1], (LocalDate) row[2], (String) row[3]);
+                    }
+                    current.add(row);
+                }
+                if (current != null) {
+                    writer.write(current.toExport());
+                    exported++;
+                }
+            }
+            transaction.commit();
+        }
+        writer.finish();
+        return exported;
+    }
+
+    /**
+     * The joined rows of one customer, with the duplicates the join produces removed.
+     */
+    private static final class CustomerRows {
+        private final Long id;
+        private final String name;
+        private final LocalDate dateOfBirth;
+        private final String nicNumber;
+        private final Set<String> mobileNumbers = new LinkedHashSet<>();
+        private final Map<Long, CustomerExport.Address> addresses = new LinkedHashMap<>();
+        private final Set<String> familyMemberNicNumbers = new LinkedHashSet<>();
+
+        CustomerRows(Long id, String name, LocalDate dateOfBirth, String nicNumber) {
+            this.id = id;
+            this.name = name;
+            this.dateOfBirth = dateOfBirth;
+            this.nicNumber = nicNumber;
+        }
+
+        void add(Object[] row) {
+            if (row[4] != null) {
+                mobileNumbers.add((String) row[4]);
+            }
+            if (row[5] != null) {
+                addresses.computeIfAbsent((Long) row[5], addressId -> new CustomerExport.Address(
+                    (String) row[6], (String) row[7], (String) row[8], (String) row[9]));
+            }
+            if (row[10] != null) {
+                familyMemberNicNumbers.add((String) row[10]);
+            }
+        }
+
+        CustomerExport toExport() {
+            return new CustomerExport(id, name, dateOfBirth, nicNumber,
+                new ArrayList<>(mobileNumbers),
+                new ArrayList<>(addresses.values()),
+                new ArrayList<>(familyMemberNicNumbers));
+        }
+    }
+}
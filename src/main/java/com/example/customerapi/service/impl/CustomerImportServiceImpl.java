@@ -0,0 +1,133 @@
+package com.example.customerapi.service.impl;
+
+import com.example.customerapi.dto.ImportJobStatus;
+import com.example.customerapi.entity.Customer;
+import com.example.customerapi.importer.CustomerImporter;
+import com.example.customerapi.importer.ImportFileType;
+import com.example.customerapi.importer.ImportFiles;
+import com.example.customerapi.importer.ImportListener;
+import com.example.customerapi.importer.RowSource;
+import com.example.customerapi.service.CustomerImportService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs bulk imports in the background. The upload is spooled to a temp file before the request
+ * returns, then a small fixed pool works through queued jobs; every chunk of rows commits on its
+ * own, so a failed chunk is reported against its rows and the import carries on.
+ *
+ * Job state lives in memory only: it is lost on restart and not shared between instances.
+ */
+@Service
+public class CustomerImportServiceImpl implements CustomerImportService, DisposableBean {
+
+    private static final int MAX_FINISHED_JOBS = 100;
+
+    private final CustomerImporter customerImporter;
+    // Owned here rather than exposed as a bean, so it does not replace Spring's default task executor
+    private final ThreadPoolTaskExecutor executor;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CustomerImportServiceImpl(CustomerImporter customerImporter,
+                                     @Value("${customerapi.import.threads:2}") int threads,
+                                     @Value("${customerapi.import.queue-capacity:20}") int queueCapacity) {
+        this.customerImporter = customerImporter;
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("customer-import-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+    }
+
+    @Override
+    public ImportJobStatus submitImport(MultipartFile file) {
+        ImportFileType type = ImportFileType.of(file);
+        Path upload = ImportFiles.spool(file, type.getSuffix());
+        ImportJob job = new ImportJob(file.getOriginalFilename());
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, type.rowSource(upload), upload));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getId());
+            ImportFiles.deleteQuietly(upload);
+            throw e;
+        }
+        pruneFinishedJobs();
+        return job.toStatus();
+    }
+
+    @Override
+    public Optional<ImportJobStatus> getJobStatus(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(ImportJob::toStatus);
+    }
+
+    @Override
+    public List<ImportJobStatus> getJobs() {
+        return jobs.values().stream()
+            .sorted(Comparator.comparing(ImportJob::getSubmittedAt).reversed())
+            .map(ImportJob::toStatus)
+            .toList();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private void run(ImportJob job, RowSource rows, Path upload) {
+        job.start();
+        try {
+            customerImporter.importRows(rows, new ImportListener() {
+                @Override
+                public void expectedRows(int dataRows) {
+                    job.expectRows(dataRows);
+                }
+
+                @Override
+                public void rowFailed(int rowNum, String message) {
+                    job.rowFailed(rowNum, message);
+                }
+
+                @Override
+                public void batchSaved(int rowsProcessed, List<Customer> created) {
+                    job.batchSaved(rowsProcessed, created.size());
+                }
+
+                @Override
+                public void batchFailed(List<Integer> rowNums, RuntimeException exception) {
+                    rowNums.forEach(rowNum -> job.rowFailed(rowNum, "Batch failed: " + exception.getMessage()));
+                }
+            });
+            job.complete();
+        } catch (Exception e) {
+            job.fail(e.getMessage());
+        } finally {
+            ImportFiles.deleteQuietly(upload);
+        }
+    }
+
+    private void pruneFinishedJobs() {
+        List<ImportJob> finished = jobs.values().stream()
+            .filter(ImportJob::isFinished)
+            .sorted(Comparator.comparing(ImportJob::getSubmittedAt))
+            .toList();
+        for (int i = 0; i < finished.size() - MAX_FINISHED_JOBS; i++) {
+            jobs.remove(finished.get(i).getId());
+        }
+    }
+}
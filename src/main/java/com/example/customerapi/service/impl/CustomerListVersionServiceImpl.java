@@ -0,0 +1,160 @@
+package com.example.customerapi.service.impl;
+
+import com.example.customerapi.entity.Address;
+import com.example.customerapi.entity.Customer;
+import com.example.customerapi.entity.CustomerListVersion;
+import com.example.customerapi.entity.FamilyMember;
+import com.example.customerapi.entity.MobileNumber;
+import com.example.customerapi.repository.CustomerListVersionRepository;
+import com.example.customerapi.service.CustomerListVersionService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps {@code customer_list_version} moving with the customer list, so a list ETag is one read
+ * by primary key instead of an aggregate over the customers table.
+ *
+ * Every insert, update or delete of a customer, its mobile numbers, addresses or family links
+ * made through Hibernate is seen by entity event listeners while the session flushes. The first
+ * one in a transaction registers an increment that runs just before the transaction commits, on
+ * its connection: the version moves if and only if the change commits, and the row is locked only
+ * for the commit itself, not for the whole import chunk. Writes that bypass entity events must call
+ * {@link #changed()}; writes made directly in the database must increment the row themselves.
+ */
+@Service
+public class CustomerListVersionServiceImpl implements CustomerListVersionService {
+
+    private static final String INCREMENT =
+        "UPDATE CustomerListVersion v SET v.version = v.version + 1 WHERE v.id = " + CustomerListVersion.ID;
+
+    private final CustomerListVersionRepository customerListVersionRepository;
+    // Sessions whose current transaction already increments the version on commit
+    private final Set<SessionImplementor> pending = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public CustomerListVersionServiceImpl(CustomerListVersionRepository customerListVersionRepository,
+                                          EntityManagerFactory entityManagerFactory) {
+        this.customerListVersionRepository = customerListVersionRepository;
+        EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        ChangeListener listener = new ChangeListener();
+        listeners.appendListeners(EventType.POST_INSERT, listener);
+        listeners.appendListeners(EventType.POST_UPDATE, listener);
+        listeners.appendListeners(EventType.POST_DELETE, listener);
+        listeners.appendListeners(EventType.POST_COLLECTION_RECREATE, listener);
+        listeners.appendListeners(EventType.POST_COLLECTION_UPDATE, listener);
+        listeners.appendListeners(EventType.POST_COLLECTION_REMOVE, listener);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getVersion() {
+        return customerListVersionRepository.findVersion()
+            .orElseThrow(() -> new RuntimeException("customer_list_version has no row; it is inserted by data.sql"));
+    }
+
+    @Override
+    public void changed() {
+        changed(entityManager.unwrap(SessionImplementor.class));
+    }
+
+    private void changed(SessionImplementor session) {
+        if (!pending.add(session)) {
+            return;
+        }
+        session.getActionQueue().registerProcess(
+            (SessionImplementor committing) -> committing.createMutationQuery(INCREMENT).executeUpdate());
+        // Runs after commit and after rollback alike
+        session.getActionQueue().registerProcess(
+            (boolean success, SharedSessionContractImplementor completed) -> pending.remove(session));
+    }
+
+    private static boolean isListed(Object entity) {
+        return entity instanceof Customer
+            || entity instanceof MobileNumber
+            || entity instanceof Address
+            || entity instanceof FamilyMember;
+    }
+
+    private class ChangeListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener,
+            PostCollectionRecreateEventListener, PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            if (isListed(event.getEntity())) {
+                changed(event.getSession());
+            }
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            if (isListed(event.getEntity())) {
+                changed(event.getSession());
+            }
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            if (isListed(event.getEntity())) {
+                changed(event.getSession());
+            }
+        }
+
+        @Override
+        public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+            collectionChanged(event);
+        }
+
+        @Override
+        public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+            collectionChanged(event);
+        }
+
+        @Override
+        public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+            collectionChanged(event);
+        }
+
+        private void collectionChanged(AbstractCollectionEvent event) {
+            if (event.getAffectedOwnerOrNull() instanceof Customer) {
+                changed(event.getSession());
+            }
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return false;
+        }
+    }
+}
@@ -2,32 +2,74 @@ package com.example.customerapi.service.impl;
 
 import com.example.customerapi.entity.*;
 import com.example.customerapi.repository.CustomerRepository;
-import com.example.customerapi.repository.CountryRepository;
-import com.example.customerapi.repository.CityRepository;
+import com.example.customerapi.repository.CustomerSortKey;
+import com.example.customerapi.repository.CustomerSpecifications;
+import com.example.customerapi.repository.CustomerViewRepository;
 import com.example.customerapi.repository.FamilyMemberRepository;
+import com.example.customerapi.repository.projection.AddressRow;
+import com.example.customerapi.repository.projection.CustomerRow;
+import com.example.customerapi.repository.projection.FamilyMemberRow;
+import com.example.customerapi.repository.projection.MobileNumberRow;
+import com.example.customerapi.service.CustomerCountService;
+import com.example.customerapi.service.CustomerListVersionService;
 import com.example.customerapi.service.CustomerService;
+import com.example.customerapi.service.MobileNumberConflictException;
+import com.example.customerapi.service.MobileNumberService;
+import com.example.customerapi.service.NicNumberService;
+import com.example.customerapi.service.ReferenceDataService;
+import com.example.customerapi.excel.CustomerTemplate;
+import com.example.customerapi.importer.CustomerImporter;
+import com.example.customerapi.importer.CustomerUpdater;
+import com.example.customerapi.importer.ImportFileType;
+import com.example.customerapi.importer.ImportFiles;
+import com.example.customerapi.importer.ImportListener;
+import com.example.customerapi.search.CustomerSearchIndex;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.Map;
 
+import com.example.customerapi.dto.BulkDeleteReport;
+import com.example.customerapi.dto.BulkDeleteRequest;
+import com.example.customerapi.dto.BulkUpdateReport;
 import com.example.customerapi.dto.CustomerCreateRequest;
+import com.example.customerapi.dto.CustomerFilter;
+import com.example.customerapi.dto.CustomerSuggestion;
+import com.example.customerapi.dto.CustomerView;
+import com.example.customerapi.dto.MobileNumberConflict;
 import com.example.customerapi.dto.MobileNumberCreateRequest;
 import com.example.customerapi.dto.AddressCreateRequest;
 import com.example.customerapi.dto.FamilyMemberCreateRequest;
@@ -35,30 +77,73 @@ import com.example.customerapi.dto.CityCreateRequest;
 import com.example.customerapi.dto.CountryCreateRequest;
 
 @Service
+@Timed(value = "customer.service", description = "CustomerService calls, tagged by method", histogram = true)
 public class CustomerServiceImpl implements CustomerService {
 
+    private static final Logger log = LoggerFactory.getLogger(CustomerServiceImpl.class);
+
+    private static final int TEMPLATE_ROW_WINDOW = 100;
+
+    private static final int TEMPLATE_CHUNK_SIZE = 1000;
+
     private final CustomerRepository customerRepository;
-    private final CountryRepository countryRepository;
-    private final CityRepository cityRepository;
+    private final CustomerViewRepository customerViewRepository;
+    private final ReferenceDataService referenceDataService;
+    private final NicNumberService nicNumberService;
+    private final MobileNumberService mobileNumberService;
+    private final CustomerImporter customerImporter;
+    private final CustomerUpdater customerUpdater;
+    private final CustomerCountService customerCountService;
+    private final CustomerListVersionService customerListVersionService;
+    private final CustomerSearchIndex customerSearchIndex;
     private final FamilyMemberRepository familyMemberRepository;
+    private final CustomerDeleter customerDeleter;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
     public CustomerServiceImpl(CustomerRepository customerRepository,
-                             CountryRepository countryRepository,
-                             CityRepository cityRepository,
-                             FamilyMemberRepository familyMemberRepository) {
+                             CustomerViewRepository customerViewRepository,
+                             ReferenceDataService referenceDataService,
+                             NicNumberService nicNumberService,
+                             MobileNumberService mobileNumberService,
+                             CustomerImporter customerImporter,
+                             CustomerUpdater customerUpdater,
+                             CustomerCountService customerCountService,
+                             CustomerListVersionService customerListVersionService,
+                             CustomerSearchIndex customerSearchIndex,
+                             FamilyMemberRepository familyMemberRepository,
+                             CustomerDeleter customerDeleter,
+                             PlatformTransactionManager transactionManager) {
         this.customerRepository = customerRepository;
-        this.countryRepository = countryRepository;
-        this.cityRepository = cityRepository;
+        this.customerViewRepository = customerViewRepository;
+        this.referenceDataService = referenceDataService;
+        this.nicNumberService = nicNumberService;
+        this.mobileNumberService = mobileNumberService;
+        this.customerImporter = customerImporter;
+        this.customerUpdater = customerUpdater;
+        this.customerCountService = customerCountService;
+        this.customerListVersionService = customerListVersionService;
+        this.customerSearchIndex = customerSearchIndex;
         this.familyMemberRepository = familyMemberRepository;
+        this.customerDeleter = customerDeleter;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     @Override
     @Transactional
     public Customer createCustomer(CustomerCreateRequest request) {
-        if (customerRepository.existsByNicNumber(request.getNicNumber())) {
+        Set<String> existingNicNumbers = nicNumberService.findExisting(requestNicNumbers(request));
+        if (existingNicNumbers.contains(request.getNicNumber())) {
             throw new RuntimeException("Customer with NIC number " + request.getNicNumber() + " already exists");
         }
+        List<MobileNumberConflict> conflicts = mobileNumberService.findConflicts(requestMobileNumbers(request), null);
+        if (!conflicts.isEmpty()) {
+            throw new MobileNumberConflictException(conflicts);
+        }
 
         Customer customer = new Customer();
         customer.setName(request.getName());
@@ -99,32 +184,12 @@ public class CustomerServiceImpl implements CustomerService {
                             throw new RuntimeException("Country name is required for city: " + cityRequest.getName());
                         }
                         
-                        Optional<Country> existingCountry = countryRepository.findByCode(countryRequest.getCode());
-                        
-                        if (existingCountry.isPresent()) {
-                            country = existingCountry.get();
-                        } else {
-                            country = new Country();
-                            country.setName(countryRequest.getName());
-                            country.setCode(countryRequest.getCode());
-                            country = countryRepository.save(country);
-                        }
+                        country = referenceDataService.resolveCountry(countryRequest.getCode(), countryRequest.getName());
                     } else {
                         throw new RuntimeException("Country information is required for city: " + cityRequest.getName());
                     }
 
-                    Optional<City> existingCity = cityRepository.findByNameAndCountryId(cityRequest.getName(), country.getId());
-                    City city;
-                    if (existingCity.isPresent()) {
-                        city = existingCity.get();
-                    } else {
-                        city = new City();
-                        city.setName(cityRequest.getName());
-                        city.setCountry(country);
-                        city = cityRepository.save(city);
-                    }
-                    
-                    address.setCity(city);
+                    address.setCity(referenceDataService.resolveCity(cityRequest.getName(), country));
                 } else {
                     throw new RuntimeException("City information is required for address");
                 }
@@ -135,10 +200,11 @@ public class CustomerServiceImpl implements CustomerService {
         }
 
         customer = customerRepository.save(customer);
+        nicNumberService.register(customer.getNicNumber());
 
         if (request.getFamilyMembers() != null) {
             for (FamilyMemberCreateRequest memberRequest : request.getFamilyMembers()) {
-                if (customerRepository.existsByNicNumber(memberRequest.getNicNumber())) {
+                if (existingNicNumbers.contains(memberRequest.getNicNumber())) {
                     throw new RuntimeException("Family member with NIC number " + memberRequest.getNicNumber() + " already exists");
                 }
 
@@ -150,6 +216,7 @@ public class CustomerServiceImpl implements CustomerService {
                 familyMember.setUpdatedAt(LocalDateTime.now());
 
                 familyMember = customerRepository.save(familyMember);
+                nicNumberService.register(familyMember.getNicNumber());
                 customer.addFamilyMember(familyMember);
             }
         }
@@ -178,30 +245,183 @@ public class CustomerServiceImpl implements CustomerService {
             .map(Customer::getId)
             .collect(Collectors.toList());
 
-        List<Customer> customersWithAddresses = customerRepository.findAllWithAddressesByIds(customerIds);
-        customers.forEach(customer -> {
-            customersWithAddresses.stream()
-                .filter(c -> c.getId().equals(customer.getId()))
-                .findFirst()
-                .ifPresent(c -> customer.setAddresses(c.getAddresses()));
-        });
+        return findAllWithDetailsByIds(customerIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CustomerView> getCustomerViews(int page, int size) {
+        return toCustomerViews(customerViewRepository.findCustomerRows(PageRequest.of(page, size)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CustomerView> getCustomerViewsAfter(Long afterId, int size) {
+        return toCustomerViews(customerViewRepository.findCustomerRowsAfter(afterId == null ? 0L : afterId, PageRequest.of(0, size)));
+    }
+
+    /**
+     * Customers matching one criterion by prefix, at most {@code limit}. Name matches are
+     * ordered by name, NIC matches by NIC number and mobile number matches by id.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<CustomerView> searchCustomers(String name, String nicNumber, String mobileNumber, int limit) {
+        Pageable firstPage = PageRequest.of(0, limit);
+        if (name != null) {
+            return toCustomerViews(customerViewRepository.findCustomerRowsByNamePrefix(likePrefix(name), firstPage));
+        }
+        if (nicNumber != null) {
+            return toCustomerViews(customerViewRepository.findCustomerRowsByNicPrefix(likePrefix(nicNumber), firstPage));
+        }
+        if (mobileNumber != null) {
+            return toCustomerViews(customerViewRepository.findCustomerRowsByMobilePrefix(likePrefix(mobileNumber), firstPage));
+        }
+        throw new RuntimeException("One of name, NIC number or mobile number is required");
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CustomerSuggestion> suggestCustomers(String query, int limit) {
+        if (customerSearchIndex.isReady()) {
+            return customerSearchIndex.suggest(query, limit);
+        }
+
+        Pageable firstPage = PageRequest.of(0, limit);
+        String prefix = likePrefix(query);
+        Map<Long, CustomerSuggestion> suggestions = new LinkedHashMap<>();
+        addSuggestions(suggestions, customerViewRepository.findCustomerRowsByNamePrefix(prefix, firstPage), limit);
+        addSuggestions(suggestions, customerViewRepository.findCustomerRowsByNicPrefix(prefix, firstPage), limit);
+        addSuggestions(suggestions, customerViewRepository.findCustomerRowsByMobilePrefix(prefix, firstPage), limit);
+        return new ArrayList<>(suggestions.values());
+    }
+
+    /**
+     * One page of customers matching {@code filter}, sorted by {@code order} and then id, continuing
+     * after {@code position} by keyset (the sort keys of the last customer seen) rather than by offset.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Window<CustomerView> filterCustomers(CustomerFilter filter, Sort.Order order, KeysetScrollPosition position, int size) {
+        Specification<Customer> specification = CustomerSpecifications.matching(filter)
+            .and(CustomerSpecifications.after(order, position.getKeys()));
+        Sort sort = order.getProperty().equals("id")
+            ? Sort.by(order)
+            : Sort.by(order, new Sort.Order(order.getDirection(), "id"));
+        // One extra row tells us whether there is a next page without another query
+        List<CustomerRow> rows = customerViewRepository.findCustomerRows(specification, sort, size + 1);
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+        }
+
+        List<CustomerRow> page = rows;
+        List<CustomerView> views = toCustomerViews(rows);
+        return Window.from(views, index -> keysetPosition(page.get(index), order.getProperty()), hasNext);
+    }
+
+    private static ScrollPosition keysetPosition(CustomerRow row, String property) {
+        CustomerSortKey<?> sortKey = CustomerSortKey.of(property);
+        Map<String, Object> keys = new LinkedHashMap<>();
+        if (sortKey != CustomerSortKey.ID) {
+            keys.put(property, sortKey.valueOf(row));
+        }
+        keys.put("id", row.id());
+        return ScrollPosition.forward(keys);
+    }
+
+    private static void addSuggestions(Map<Long, CustomerSuggestion> suggestions, List<CustomerRow> rows, int limit) {
+        for (CustomerRow row : rows) {
+            if (suggestions.size() >= limit) return;
+            suggestions.putIfAbsent(row.id(), new CustomerSuggestion(row.id(), row.name(), row.nicNumber()));
+        }
+    }
+
+    private static String likePrefix(String value) {
+        String escaped = value.trim()
+            .replace("!", "!!")
+            .replace("%", "!%")
+            .replace("_", "!_");
+        return escaped + "%";
+    }
+
+    /**
+     * Groups the flat child projections by customer id and assembles immutable views, keeping
+     * the order of {@code rows}.
+     */
+    private List<CustomerView> toCustomerViews(List<CustomerRow> rows) {
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> ids = rows.stream()
+            .map(CustomerRow::id)
+            .collect(Collectors.toList());
+
+        Map<Long, List<CustomerView.MobileNumber>> mobileNumbers = new HashMap<>();
+        for (MobileNumberRow row : customerViewRepository.findMobileNumberRows(ids)) {
+            mobileNumbers.computeIfAbsent(row.customerId(), id -> new ArrayList<>())
+                .add(new CustomerView.MobileNumber(row.number()));
+        }
+
+        Map<Long, List<CustomerView.Address>> addresses = new HashMap<>();
+        for (AddressRow row : customerViewRepository.findAddressRows(ids)) {
+            CustomerView.City city = row.cityName() != null ? new CustomerView.City(row.cityName()) : null;
+            addresses.computeIfAbsent(row.customerId(), id -> new ArrayList<>())
+                .add(new CustomerView.Address(row.addressLine1(), row.addressLine2(), city));
+        }
+
+        Map<Long, List<CustomerView.FamilyMember>> familyMembers = new HashMap<>();
+        for (FamilyMemberRow row : customerViewRepository.findFamilyMemberRows(ids)) {
+            familyMembers.computeIfAbsent(row.customerId(), id -> new ArrayList<>())
+                .add(new CustomerView.FamilyMember(row.id(), row.name(), row.dateOfBirth(), row.nicNumber()));
+        }
+
+        List<CustomerView> views = new ArrayList<>(rows.size());
+        for (CustomerRow row : rows) {
+            views.add(new CustomerView(
+                row.id(),
+                row.name(),
+                row.dateOfBirth(),
+                row.nicNumber(),
+                mobileNumbers.getOrDefault(row.id(), List.of()),
+                addresses.getOrDefault(row.id(), List.of()),
+                familyMembers.getOrDefault(row.id(), List.of()),
+                row.createdAt(),
+                row.updatedAt()
+            ));
+        }
+        return views;
+    }
+
+    /**
+     * Loads customers with addresses (city, country), mobile numbers and family members using one
+     * query per collection, restricted to the given ids. The result follows the order of {@code ids}.
+     */
+    private List<Customer> findAllWithDetailsByIds(List<Long> ids) {
+        Map<Long, Customer> customerMap = customerRepository.findAllWithAddressesAndCityByIds(ids).stream()
+            .collect(Collectors.toMap(Customer::getId, c -> c));
         
-        List<Customer> customersWithMobileNumbers = customerRepository.findAllWithMobileNumbersByIds(customerIds);
-        customers.forEach(customer -> {
-            customersWithMobileNumbers.stream()
-                .filter(c -> c.getId().equals(customer.getId()))
-                .findFirst()
-                .ifPresent(c -> customer.setMobileNumbers(c.getMobileNumbers()));
+        customerRepository.findAllWithMobileNumbersByIds(ids).forEach(c -> {
+            Customer customer = customerMap.get(c.getId());
+            if (customer != null) {
+                customer.setMobileNumbers(c.getMobileNumbers());
+            }
         });
         
-        List<Customer> customersWithFamilyMembers = customerRepository.findAllWithFamilyMembersByIds(customerIds);
-        customers.forEach(customer -> {
-            customersWithFamilyMembers.stream()
-                .filter(c -> c.getId().equals(customer.getId()))
-                .findFirst()
-                .ifPresent(c -> customer.setFamilyMembers(c.getFamilyMembers()));
+        customerRepository.findAllWithFamilyMembersByIds(ids).forEach(c -> {
+            Customer customer = customerMap.get(c.getId());
+            if (customer != null) {
+                customer.setFamilyMembers(c.getFamilyMembers());
+            }
         });
         
+        List<Customer> customers = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Customer customer = customerMap.get(id);
+            if (customer != null) {
+                customers.add(customer);
+            }
+        }
         return customers;
     }
 
@@ -211,6 +431,22 @@ public class CustomerServiceImpl implements CustomerService {
         return customerRepository.count();
     }
 
+    @Override
+    public long getCustomerListVersion() {
+        return customerListVersionService.getVersion();
+    }
+
+    @Override
+    public long getCachedCustomerCount() {
+        return customerCountService.getCount();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> getCustomerLastModified(Long id) {
+        return customerRepository.findLastModified(id);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Customer getCustomerById(Long id) {
@@ -227,23 +463,28 @@ public class CustomerServiceImpl implements CustomerService {
         customer.setDateOfBirth(request.getDateOfBirth());
         customer.setNicNumber(request.getNicNumber());
         customer.setUpdatedAt(LocalDateTime.now());
+        nicNumberService.register(request.getNicNumber());
 
         if (request.getMobileNumbers() != null) {
-            List<String> existingNumbers = customer.getMobileNumbers().stream()
-                .map(MobileNumber::getNumber)
-                .collect(Collectors.toList());
+            // Numbers this customer already holds may be submitted again
+            List<MobileNumberConflict> conflicts = mobileNumberService.findConflicts(requestMobileNumbers(request), id);
+            if (!conflicts.isEmpty()) {
+                throw new MobileNumberConflictException(conflicts);
+            }
             
+            Map<String, MobileNumber> currentNumbers = new HashMap<>();
+            customer.getMobileNumbers().forEach(mobileNumber -> currentNumbers.put(mobileNumber.getNumber(), mobileNumber));
             customer.getMobileNumbers().clear();
             
             for (MobileNumberCreateRequest mobileRequest : request.getMobileNumbers()) {
-                if (!existingNumbers.contains(mobileRequest.getNumber()) && 
-                    customerRepository.existsByMobileNumber(mobileRequest.getNumber())) {
-                    throw new RuntimeException("Mobile number " + mobileRequest.getNumber() + " is already registered to another customer");
+                // Keep the row of a number the customer already has: Hibernate inserts new rows
+                // before it deletes orphans, so a replacement would hit the unique constraint
+                MobileNumber mobileNumber = currentNumbers.remove(mobileRequest.getNumber());
+                if (mobileNumber == null) {
+                    mobileNumber = new MobileNumber();
+                    mobileNumber.setNumber(mobileRequest.getNumber());
+                    mobileNumber.setCustomer(customer);
                 }
-                
-                MobileNumber mobileNumber = new MobileNumber();
-                mobileNumber.setNumber(mobileRequest.getNumber());
-                mobileNumber.setCustomer(customer);
                 customer.getMobileNumbers().add(mobileNumber);
             }
         }
@@ -270,32 +511,12 @@ public class CustomerServiceImpl implements CustomerService {
                             throw new RuntimeException("Country name is required for city: " + cityRequest.getName());
                         }
                         
-                        Optional<Country> existingCountry = countryRepository.findByCode(countryRequest.getCode());
-                        
-                        if (existingCountry.isPresent()) {
-                            country = existingCountry.get();
-                        } else {
-                            country = new Country();
-                            country.setName(countryRequest.getName());
-                            country.setCode(countryRequest.getCode());
-                            country = countryRepository.save(country);
-                        }
+                        country = referenceDataService.resolveCountry(countryRequest.getCode(), countryRequest.getName());
                     } else {
                         throw new RuntimeException("Country information is required for city: " + cityRequest.getName());
                     }
 
-                    Optional<City> existingCity = cityRepository.findByNameAndCountryId(cityRequest.getName(), country.getId());
-                    City city;
-                    if (existingCity.isPresent()) {
-                        city = existingCity.get();
-                    } else {
-                        city = new City();
-                        city.setName(cityRequest.getName());
-                        city.setCountry(country);
-                        city = cityRepository.save(city);
-                    }
-                    
-                    address.setCity(city);
+                    address.setCity(referenceDataService.resolveCity(cityRequest.getName(), country));
                 } else {
                     throw new RuntimeException("City information is required for address");
                 }
@@ -310,8 +531,11 @@ public class CustomerServiceImpl implements CustomerService {
                 customer.removeFamilyMember(familyMember);
             }
             
+            Set<String> existingNicNumbers = nicNumberService.findExisting(request.getFamilyMembers().stream()
+                .map(FamilyMemberCreateRequest::getNicNumber)
+                .collect(Collectors.toList()));
             for (FamilyMemberCreateRequest memberRequest : request.getFamilyMembers()) {
-                if (customerRepository.existsByNicNumber(memberRequest.getNicNumber())) {
+                if (existingNicNumbers.contains(memberRequest.getNicNumber())) {
                     throw new RuntimeException("Family member with NIC number " + memberRequest.getNicNumber() + " already exists");
                 }
 
@@ -323,6 +547,7 @@ public class CustomerServiceImpl implements CustomerService {
                 familyMember.setUpdatedAt(LocalDateTime.now());
 
                 familyMember = customerRepository.save(familyMember);
+                nicNumberService.register(familyMember.getNicNumber());
                 customer.addFamilyMember(familyMember);
             }
         }
@@ -333,306 +558,186 @@ public class CustomerServiceImpl implements CustomerService {
     @Override
     @Transactional
     public void deleteCustomer(Long id) {
-        Customer customer = customerRepository.findById(id)
-            .orElseThrow(() -> new EntityNotFoundException("Customer not found with id: " + id));
-        
-        List<Customer> familyMembers = new ArrayList<>(customer.getFamilyMembers());
-        for (Customer familyMember : familyMembers) {
-            customer.removeFamilyMember(familyMember);
+        if (customerDeleter.delete(List.of(id)).isEmpty()) {
+            throw new EntityNotFoundException("Customer not found with id: " + id);
         }
-        
-        List<Customer> familyOf = new ArrayList<>(customer.getFamilyOf());
-        for (Customer parent : familyOf) {
-            parent.removeFamilyMember(customer);
-        }
-        
-        customerRepository.save(customer);
-        customerRepository.deleteById(id);
+    }
+
+    @Override
+    public BulkDeleteReport deleteCustomers(BulkDeleteRequest request) {
+        return customerDeleter.deleteAll(
+            request.ids() == null ? List.of() : request.ids(),
+            request.nicNumbers() == null ? List.of() : request.nicNumbers());
     }
 
     @Override
     @Transactional
     public List<Customer> bulkCreateCustomers(MultipartFile file) {
+        return bulkCreateCustomers(file, ImportFileType.XLSX);
+    }
+
+    @Override
+    @Transactional
+    public List<Customer> bulkCreateCustomersFromCsv(MultipartFile file) {
+        return bulkCreateCustomers(file, ImportFileType.CSV);
+    }
+
+    private List<Customer> bulkCreateCustomers(MultipartFile file, ImportFileType type) {
         List<Customer> customers = new ArrayList<>();
-        int batchSize = 1000;
-        int totalProcessed = 0;
-        int totalCreated = 0;
         
-        try (Workbook workbook = new XSSFWorkbook(file.getInputStream())) {
-            Sheet sheet = workbook.getSheetAt(0);
-            int totalRows = sheet.getPhysicalNumberOfRows();
-            
-            for (int rowIndex = 1; rowIndex < totalRows; rowIndex += batchSize) {
-                int endIndex = Math.min(rowIndex + batchSize, totalRows);
-                List<Customer> batchCustomers = new ArrayList<>();
-                
-                for (int i = rowIndex; i < endIndex; i++) {
-                    Row row = sheet.getRow(i);
-                    if (row == null) continue;
-                    
-                    try {
-                        Customer customer = processCustomerRow(row);
-                        if (customer != null && !customerRepository.existsByNicNumber(customer.getNicNumber())) {
-                            batchCustomers.add(customer);
-                        }
-                        totalProcessed++;
-                    } catch (Exception e) {
-                        System.err.println("Error processing row " + i + ": " + e.getMessage());
-                    }
+        Path upload = ImportFiles.spool(file, type.getSuffix());
+        try {
+            // Rows, customers and failures are counted by ImportMetrics; the log only names the rows
+            customerImporter.importRows(type.rowSource(upload), new ImportListener() {
+                @Override
+                public void rowFailed(int rowNum, String message) {
+                    log.warn("Bulk import row {} rejected: {}", rowNum, message);
                 }
                 
-                if (!batchCustomers.isEmpty()) {
-                    List<Customer> savedCustomers = customerRepository.saveAll(batchCustomers);
-                    customers.addAll(savedCustomers);
-                    totalCreated += savedCustomers.size();
+                @Override
+                public void batchSaved(int rowsProcessed, List<Customer> created) {
+                    customers.addAll(created);
+                    log.debug("Bulk import processed {} rows, created {} customers", rowsProcessed, customers.size());
                 }
                 
-                batchCustomers.clear();
-                System.out.println("Processed " + totalProcessed + " of " + totalRows + " records. Created " + totalCreated + " customers.");
-            }
+                @Override
+                public void batchFailed(List<Integer> rowNums, RuntimeException exception) {
+                    throw exception;
+                }
+            });
         } catch (IOException e) {
-            throw new RuntimeException("Error processing Excel file", e);
+            throw new RuntimeException("Error processing " + (type == ImportFileType.CSV ? "CSV" : "Excel") + " file", e);
+        } finally {
+            ImportFiles.deleteQuietly(upload);
         }
         
         return customers;
     }
-    
-    private Customer processCustomerRow(Row row) {
-        Customer customer = new Customer();
-        
-        customer.setName(getCellValueAsString(row.getCell(0)));
-        
-        String dateStr = getCellValueAsString(row.getCell(1));
-        try {
-            LocalDate dateOfBirth = LocalDate.parse(dateStr);
-            if (dateOfBirth.isAfter(LocalDate.now())) {
-                throw new RuntimeException("Date of birth must be in the past: " + dateStr);
-            }
-            customer.setDateOfBirth(dateOfBirth);
-        } catch (Exception e) {
-            throw new RuntimeException("Invalid date format for date of birth: " + dateStr + ". Expected format: YYYY-MM-DD", e);
-        }
-        
-        customer.setNicNumber(getCellValueAsString(row.getCell(2)));
-        
-        String mobileNumber = getCellValueAsString(row.getCell(3));
-        if (mobileNumber != null && !mobileNumber.trim().isEmpty()) {
-            MobileNumber mobile = new MobileNumber();
-            mobile.setNumber(mobileNumber);
-            mobile.setCustomer(customer);
-            customer.getMobileNumbers().add(mobile);
-        }
-        
-        String addressLine1 = getCellValueAsString(row.getCell(4));
-        String addressLine2 = getCellValueAsString(row.getCell(5));
-        String cityName = getCellValueAsString(row.getCell(6));
-        String countryName = getCellValueAsString(row.getCell(7));
-        String countryCode = getCellValueAsString(row.getCell(8));
-        
-        if (addressLine1 != null && !addressLine1.trim().isEmpty() && 
-            cityName != null && !cityName.trim().isEmpty() && 
-            countryName != null && !countryName.trim().isEmpty() && 
-            countryCode != null && !countryCode.trim().isEmpty()) {
-            
-            Country country;
-            Optional<Country> existingCountry = countryRepository.findByCode(countryCode);
-            if (existingCountry.isPresent()) {
-                country = existingCountry.get();
-            } else {
-                country = new Country();
-                country.setName(countryName);
-                country.setCode(countryCode);
-                country = countryRepository.save(country);
-            }
-            
-            City city;
-            Optional<City> existingCity = cityRepository.findByNameAndCountryId(cityName, country.getId());
-            if (existingCity.isPresent()) {
-                city = existingCity.get();
-            } else {
-                city = new City();
-                city.setName(cityName);
-                city.setCountry(country);
-                city = cityRepository.save(city);
-            }
-            
-            Address address = new Address();
-            address.setAddressLine1(addressLine1);
-            address.setAddressLine2(addressLine2);
-            address.setCity(city);
-            address.setCustomer(customer);
-            customer.getAddresses().add(address);
-        }
-        
-        String familyMemberName = getCellValueAsString(row.getCell(9));
-        String familyMemberDob = getCellValueAsString(row.getCell(10));
-        String familyMemberNic = getCellValueAsString(row.getCell(11));
-        
-        if (familyMemberName != null && !familyMemberName.trim().isEmpty() && 
-            familyMemberDob != null && !familyMemberDob.trim().isEmpty() && 
-            familyMemberNic != null && !familyMemberNic.trim().isEmpty()) {
-            
-            Customer familyMember = new Customer();
-            familyMember.setName(familyMemberName);
-            try {
-                LocalDate familyMemberDateOfBirth = LocalDate.parse(familyMemberDob);
-                if (familyMemberDateOfBirth.isAfter(LocalDate.now())) {
-                    throw new RuntimeException("Family member date of birth must be in the past: " + familyMemberDob);
-                }
-                familyMember.setDateOfBirth(familyMemberDateOfBirth);
-            } catch (Exception e) {
-                throw new RuntimeException("Invalid date format for family member date of birth: " + familyMemberDob + ". Expected format: YYYY-MM-DD", e);
-            }
-            familyMember.setNicNumber(familyMemberNic);
-            familyMember.setCreatedAt(LocalDateTime.now());
-            familyMember.setUpdatedAt(LocalDateTime.now());
-            
-            familyMember = customerRepository.save(familyMember);
-            customer.addFamilyMember(familyMember);
-        }
-        
-        customer.setCreatedAt(LocalDateTime.now());
-        customer.setUpdatedAt(LocalDateTime.now());
-        
-        return customer;
-    }
 
     @Override
-    @Transactional
-    public List<Customer> bulkUpdateCustomers(MultipartFile file) {
-        List<Customer> updatedCustomers = new ArrayList<>();
-        try (Workbook workbook = new XSSFWorkbook(file.getInputStream())) {
-            Sheet sheet = workbook.getSheetAt(0);
-            
-            for (Row row : sheet) {
-                if (row.getRowNum() == 0) continue;
-                
-                String nicNumber = getCellValueAsString(row.getCell(2));
-                Customer existingCustomer = customerRepository.findByNicNumber(nicNumber)
-                        .orElseThrow(() -> new EntityNotFoundException("Customer not found with NIC: " + nicNumber));
-                
-                existingCustomer.setName(getCellValueAsString(row.getCell(0)));
-                existingCustomer.setDateOfBirth(LocalDate.parse(getCellValueAsString(row.getCell(1))));
-                
-                updatedCustomers.add(customerRepository.save(existingCustomer));
-            }
+    public BulkUpdateReport bulkUpdateCustomers(MultipartFile file) {
+        ImportFileType type = ImportFileType.of(file);
+        Path upload = ImportFiles.spool(file, type.getSuffix());
+        try {
+            return customerUpdater.update(type.rowSource(upload));
         } catch (IOException e) {
-            throw new RuntimeException("Error processing Excel file", e);
+            throw new RuntimeException("Error processing " + (type == ImportFileType.CSV ? "CSV" : "Excel") + " file", e);
+        } finally {
+            ImportFiles.deleteQuietly(upload);
         }
-        return updatedCustomers;
     }
 
     @Override
-    @Transactional
     public byte[] generateCustomerTemplate() {
-        try (Workbook workbook = new XSSFWorkbook()) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writeCustomerTemplate(outputStream);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Fills the SXSSF workbook {@value #TEMPLATE_CHUNK_SIZE} customers at a time, each chunk in its
+     * own short read-only transaction, and only then writes it to the client. No transaction or
+     * pooled connection is held while a slow client drains the download.
+     */
+    @Override
+    public void writeCustomerTemplate(OutputStream outputStream) {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(TEMPLATE_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
             Sheet sheet = workbook.createSheet("Customers");
             
-            // Create header row
+            // Create header row with fixed column widths (autoSizeColumn needs every row in memory)
             Row headerRow = sheet.createRow(0);
-            String[] headers = {
-                "Name", "Date of Birth", "NIC Number", "Mobile Number",
-                "Address Line 1", "Address Line 2", "City", "Country Name", "Country Code",
-                "Family Member Name", "Family Member DOB", "Family Member NIC"
-            };
-            
-            for (int i = 0; i < headers.length; i++) {
+            for (int i = 0; i < CustomerTemplate.COLUMN_COUNT; i++) {
                 Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-            }
-            
-            // Get all customers with their related data in separate queries
-            List<Customer> customers = customerRepository.findAllWithAddressesAndCity();
-            List<Customer> customersWithMobileNumbers = customerRepository.findAllWithMobileNumbers();
-            List<Customer> customersWithFamilyMembers = customerRepository.findAllWithFamilyMembers();
-            
-            // Create a map for quick lookup
-            Map<Long, Customer> customerMap = customers.stream()
-                .collect(Collectors.toMap(Customer::getId, c -> c));
-            
-            // Merge mobile numbers
-            customersWithMobileNumbers.forEach(c -> {
-                Customer customer = customerMap.get(c.getId());
-                if (customer != null) {
-                    customer.setMobileNumbers(c.getMobileNumbers());
-                }
-            });
-            
-            // Merge family members
-            customersWithFamilyMembers.forEach(c -> {
-                Customer customer = customerMap.get(c.getId());
-                if (customer != null) {
-                    customer.setFamilyMembers(c.getFamilyMembers());
-                }
-            });
-            
-            int rowNum = 1;
-            for (Customer customer : customers) {
-                Row row = sheet.createRow(rowNum++);
-                
-                // Basic customer info
-                row.createCell(0).setCellValue(customer.getName());
-                row.createCell(1).setCellValue(customer.getDateOfBirth().toString());
-                row.createCell(2).setCellValue(customer.getNicNumber());
-                
-                // Mobile numbers
-                if (!customer.getMobileNumbers().isEmpty()) {
-                    row.createCell(3).setCellValue(customer.getMobileNumbers().get(0).getNumber());
-                }
-                
-                // Address
-                if (!customer.getAddresses().isEmpty()) {
-                    Address address = customer.getAddresses().get(0);
-                    row.createCell(4).setCellValue(address.getAddressLine1());
-                    row.createCell(5).setCellValue(address.getAddressLine2());
-                    
-                    if (address.getCity() != null) {
-                        row.createCell(6).setCellValue(address.getCity().getName());
-                        
-                        if (address.getCity().getCountry() != null) {
-                            row.createCell(7).setCellValue(address.getCity().getCountry().getName());
-                            row.createCell(8).setCellValue(address.getCity().getCountry().getCode());
-                        }
-                    }
-                }
-                
-                // Family members
-                if (!customer.getFamilyMembers().isEmpty()) {
-                    Customer familyMember = customer.getFamilyMembers().get(0);
-                    row.createCell(9).setCellValue(familyMember.getName());
-                    row.createCell(10).setCellValue(familyMember.getDateOfBirth().toString());
-                    row.createCell(11).setCellValue(familyMember.getNicNumber());
-                }
+                cell.setCellValue(CustomerTemplate.HEADERS[i]);
+                sheet.setColumnWidth(i, CustomerTemplate.COLUMN_WIDTHS[i] * 256);
             }
             
-            // Auto-size columns
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
+            Long lastId = 0L;
+            while (lastId != null) {
+                long afterId = lastId;
+                lastId = readOnlyTransaction.execute(status -> writeTemplateChunk(sheet, afterId));
             }
             
-            // Write to byte array
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
             workbook.write(outputStream);
-            return outputStream.toByteArray();
-            
+            outputStream.flush();
         } catch (IOException e) {
             throw new RuntimeException("Error generating customer template", e);
+        } finally {
+            workbook.dispose();
+        }
+    }
+
+    /**
+     * Appends the customers after {@code afterId} to the sheet and returns the last id written, or
+     * {@code null} when there are none left.
+     */
+    private Long writeTemplateChunk(Sheet sheet, long afterId) {
+        List<Long> ids = customerRepository.findIdsAfter(afterId, PageRequest.of(0, TEMPLATE_CHUNK_SIZE));
+        if (ids.isEmpty()) {
+            return null;
+        }
+        int rowNum = sheet.getLastRowNum() + 1;
+        for (Customer customer : findAllWithDetailsByIds(ids)) {
+            writeTemplateRow(sheet.createRow(rowNum++), customer);
         }
+        // Rows beyond the window are already on disk, so the chunk can be detached
+        entityManager.clear();
+        return ids.get(ids.size() - 1);
     }
 
-    private String getCellValueAsString(Cell cell) {
-        if (cell == null) return "";
+    private void writeTemplateRow(Row row, Customer customer) {
+        // Basic customer info
+        row.createCell(0).setCellValue(customer.getName());
+        row.createCell(1).setCellValue(customer.getDateOfBirth().toString());
+        row.createCell(2).setCellValue(customer.getNicNumber());
+        
+        // Mobile numbers
+        if (!customer.getMobileNumbers().isEmpty()) {
+            row.createCell(3).setCellValue(customer.getMobileNumbers().get(0).getNumber());
+        }
         
-        switch (cell.getCellType()) {
-            case STRING:
-                return cell.getStringCellValue();
-            case NUMERIC:
-                if (DateUtil.isCellDateFormatted(cell)) {
-                    return cell.getLocalDateTimeCellValue().toLocalDate().toString();
+        // Address
+        if (!customer.getAddresses().isEmpty()) {
+            Address address = customer.getAddresses().get(0);
+            row.createCell(4).setCellValue(address.getAddressLine1());
+            row.createCell(5).setCellValue(address.getAddressLine2());
+            
+            if (address.getCity() != null) {
+                row.createCell(6).setCellValue(address.getCity().getName());
+                
+                if (address.getCity().getCountry() != null) {
+                    row.createCell(7).setCellValue(address.getCity().getCountry().getName());
+                    row.createCell(8).setCellValue(address.getCity().getCountry().getCode());
                 }
-                return String.valueOf((long) cell.getNumericCellValue());
-            default:
-                return "";
+            }
+        }
+        
+        // Family members
+        if (!customer.getFamilyMembers().isEmpty()) {
+            Customer familyMember = customer.getFamilyMembers().get(0);
+            row.createCell(9).setCellValue(familyMember.getName());
+            row.createCell(10).setCellValue(familyMember.getDateOfBirth().toString());
+            row.createCell(11).setCellValue(familyMember.getNicNumber());
+        }
+    }
+
+    private static List<String> requestMobileNumbers(CustomerCreateRequest request) {
+        List<String> numbers = new ArrayList<>();
+        if (request.getMobileNumbers() != null) {
+            request.getMobileNumbers().forEach(mobileNumber -> numbers.add(mobileNumber.getNumber()));
+        }
+        return numbers;
+    }
+
+    private List<String> requestNicNumbers(CustomerCreateRequest request) {
+        List<String> nicNumbers = new ArrayList<>();
+        nicNumbers.add(request.getNicNumber());
+        if (request.getFamilyMembers() != null) {
+            request.getFamilyMembers().forEach(member -> nicNumbers.add(member.getNicNumber()));
         }
+        return nicNumbers;
     }
-} 
\ No newline at end of file
+
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.example.customerapi.service.impl;
+
+import com.example.customerapi.dto.CustomerSuggestion;
+import com.example.customerapi.dto.FamilyGraph;
+import com.example.customerapi.repository.CustomerViewRepository;
+import com.example.customerapi.repository.projection.FamilyLinkRow;
+import com.example.customerapi.service.FamilyGraphService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Walks {@code customer_family_members} breadth first: each level is one query for every link
+ * touching the customers reached on the previous level, and the names and NIC numbers of all
+ * customers found are read at the end. Links among the customers of the last level are read by
+ * one more query, as the walk does not follow them. A graph {@code depth} levels deep therefore
+ * costs at most {@code depth + 2} queries however many customers it holds (more only when a
+ * level has more than {@value #IN_CHUNK_SIZE} customers). Customers already reached are not
+ * followed again, so cycles end the walk instead of repeating it.
+ */
+@Service
+public class FamilyGraphServiceImpl implements FamilyGraphService {
+
+    private static final int IN_CHUNK_SIZE = 1000;
+
+    private final CustomerViewRepository customerViewRepository;
+    private final int maxNodes;
+
+    @Autowired
+    public FamilyGraphServiceImpl(CustomerViewRepository customerViewRepository,
+                                  @Value("${customerapi.family-graph.max-nodes:10000}") int maxNodes) {
+        this.customerViewRepository = customerViewRepository;
+        this.maxNodes = maxNodes;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FamilyGraph getFamilyGraph(Long customerId, int depth) {
+        // Insertion order is breadth-first order; the value is the level a customer was reached on
+        Map<Long, Integer> levels = new LinkedHashMap<>();
+        levels.put(customerId, 0);
+        Set<FamilyGraph.Edge> edges = new LinkedHashSet<>();
+        boolean truncated = false;
+
+        List<Long> frontier = List.of(customerId);
+        for (int level = 1; level <= depth && !frontier.isEmpty(); level++) {
+            List<Long> next = new ArrayList<>();
+            for (FamilyLinkRow link : findFamilyLinks(frontier)) {
+                List<Long> reached = new ArrayList<>(2);
+                if (!levels.containsKey(link.customerId())) {
+                    reached.add(link.customerId());
+                }
+                if (!levels.containsKey(link.familyMemberId()) && !reached.contains(link.familyMemberId())) {
+                    reached.add(link.familyMemberId());
+                }
+                if (levels.size() + reached.size() > maxNodes) {
+                    truncated = true;
+                    continue;
+                }
+                for (Long id : reached) {
+                    levels.put(id, level);
+                    next.add(id);
+                }
+                edges.add(new FamilyGraph.Edge(link.customerId(), link.familyMemberId()));
+            }
+            frontier = next;
+        }
+        // Links to earlier levels were read with those levels; only links within the last are missing
+        if (frontier.size() > 1) {
+            for (FamilyLinkRow link : findFamilyLinksBetween(frontier)) {
+                edges.add(new FamilyGraph.Edge(link.customerId(), link.familyMemberId()));
+            }
+        }
+
+        Map<Long, CustomerSuggestion> customers = new HashMap<>();
+        for (List<Long> chunk : chunks(new ArrayList<>(levels.keySet()))) {
+            customerViewRepository.findSuggestionsByIds(chunk).forEach(c -> customers.put(c.id(), c));
+        }
+        if (!customers.containsKey(customerId)) {
+            throw new RuntimeException("Customer not found with id: " + customerId);
+        }
+
+        List<FamilyGraph.Node> nodes = new ArrayList<>(levels.size());
+        levels.forEach((id, level) -> {
+            CustomerSuggestion customer = customers.get(id);
+            if (customer != null) {
+                nodes.add(new FamilyGraph.Node(id, customer.name(), customer.nicNumber(), level));
+            }
+        });
+        return new FamilyGraph(customerId, depth, nodes, new ArrayList<>(edges), isCyclic(nodes.size(), edges), truncated);
+    }
+
+    private List<FamilyLinkRow> findFamilyLinks(List<Long> ids) {
+        List<FamilyLinkRow> links = new ArrayList<>();
+        for (List<Long> chunk : chunks(ids)) {
+            links.addAll(customerViewRepository.findFamilyLinks(chunk));
+        }
+        return links;
+    }
+
+    private List<FamilyLinkRow> findFamilyLinksBetween(List<Long> ids) {
+        List<FamilyLinkRow> links = new ArrayList<>();
+        for (List<Long> customerIds : chunks(ids)) {
+            for (List<Long> familyMemberIds : chunks(ids)) {
+                links.addAll(customerViewRepository.findFamilyLinksBetween(customerIds, familyMemberIds));
+            }
+        }
+        return links;
+    }
+
+    /**
+     * The nodes are connected, so without cycles they are a tree: one link fewer than nodes.
+     * A pair of customers listing each other is one link.
+     */
+    private static boolean isCyclic(int nodeCount, Set<FamilyGraph.Edge> edges) {
+        Set<List<Long>> links = new HashSet<>();
+        for (FamilyGraph.Edge edge : edges) {
+            Long a = edge.customerId();
+            Long b = edge.familyMemberId();
+            links.add(a <= b ? List.of(a, b) : List.of(b, a));
+        }
+        return links.size() > nodeCount - 1;
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += IN_CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + IN_CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.customerapi.service.impl;
+
+import com.example.customerapi.dto.ImportJobStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one asynchronous bulk import. Counters are written by the import thread and read
+ * by status requests, so they are atomics; the lifecycle fields are only ever set once.
+ */
+class ImportJob {
+
+    private static final int MAX_ROW_ERRORS = 100;
+
+    enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String id = UUID.randomUUID().toString();
+    private final String fileName;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+
+    private final AtomicLong rowsProcessed = new AtomicLong();
+    private final AtomicLong rowsCreated = new AtomicLong();
+    private final AtomicLong rowsFailed = new AtomicLong();
+    private final List<ImportJobStatus.RowError> rowErrors = new ArrayList<>();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile Long expectedRows;
+    private volatile LocalDateTime startedAt;
+    private volatile long startedNanos;
+    private volatile LocalDateTime finishedAt;
+    private volatile long finishedNanos;
+    private volatile String error;
+
+    ImportJob(String fileName) {
+        this.fileName = fileName;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    void start() {
+        startedNanos = System.nanoTime();
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+
+    void expectRows(int rows) {
+        expectedRows = (long) rows;
+    }
+
+    void rowFailed(int rowNum, String message) {
+        rowsFailed.incrementAndGet();
+        synchronized (rowErrors) {
+            if (rowErrors.size() < MAX_ROW_ERRORS) {
+                rowErrors.add(new ImportJobStatus.RowError(rowNum, message));
+            }
+        }
+    }
+
+    void batchSaved(int processed, int created) {
+        rowsProcessed.set(processed);
+        rowsCreated.addAndGet(created);
+    }
+
+    void complete() {
+        finish(Status.COMPLETED, null);
+    }
+
+    void fail(String message) {
+        finish(Status.FAILED, message);
+    }
+
+    private void finish(Status finalStatus, String message) {
+        finishedNanos = System.nanoTime();
+        finishedAt = LocalDateTime.now();
+        error = message;
+        status = finalStatus;
+    }
+
+    ImportJobStatus toStatus() {
+        long processed = rowsProcessed.get();
+        double rowsPerSecond = 0;
+        Long etaSeconds = null;
+        if (startedAt != null) {
+            long end = finishedAt != null ? finishedNanos : System.nanoTime();
+            double seconds = Duration.ofNanos(end - startedNanos).toMillis() / 1000.0;
+            rowsPerSecond = seconds > 0 ? processed / seconds : 0;
+            if (status == Status.RUNNING && expectedRows != null && rowsPerSecond > 0) {
+                etaSeconds = (long) Math.ceil(Math.max(0, expectedRows - processed) / rowsPerSecond);
+            }
+        }
+        List<ImportJobStatus.RowError> errors;
+        synchronized (rowErrors) {
+            errors = List.copyOf(rowErrors);
+        }
+        return new ImportJobStatus(id, fileName, status.name(), processed, rowsCreated.get(), rowsFailed.get(),
+            expectedRows, rowsPerSecond, etaSeconds, submittedAt, startedAt, finishedAt, error, errors);
+    }
+}
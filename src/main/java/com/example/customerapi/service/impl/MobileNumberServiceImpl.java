@@ -0,0 +1,75 @@
+package com.example.customerapi.service.impl;
+
+import com.example.customerapi.dto.MobileNumberConflict;
+import com.example.customerapi.repository.CustomerViewRepository;
+import com.example.customerapi.repository.projection.MobileNumberRow;
+import com.example.customerapi.service.MobileNumberService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Checks mobile numbers against the unique {@code mobile_numbers.number} column in one
+ * {@code IN} query per chunk, so a request or an import chunk costs one round trip however many
+ * numbers it has, and conflicts are found before anything is written instead of as a constraint
+ * violation that rolls the whole batch back.
+ */
+@Service
+public class MobileNumberServiceImpl implements MobileNumberService {
+
+    private static final int IN_CLAUSE_SIZE = 1000;
+
+    private final CustomerViewRepository customerViewRepository;
+
+    @Autowired
+    public MobileNumberServiceImpl(CustomerViewRepository customerViewRepository) {
+        this.customerViewRepository = customerViewRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Long> findExisting(Collection<String> numbers) {
+        List<String> candidates = new ArrayList<>(new LinkedHashSet<>(numbers));
+        candidates.remove(null);
+
+        Map<String, Long> existing = new HashMap<>();
+        for (int i = 0; i < candidates.size(); i += IN_CLAUSE_SIZE) {
+            List<String> chunk = candidates.subList(i, Math.min(i + IN_CLAUSE_SIZE, candidates.size()));
+            for (MobileNumberRow row : customerViewRepository.findMobileNumberRowsByNumbers(chunk)) {
+                existing.put(row.number(), row.customerId());
+            }
+        }
+        return existing;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MobileNumberConflict> findConflicts(List<String> numbers, Long customerId) {
+        List<MobileNumberConflict> conflicts = new ArrayList<>();
+        Set<String> seen = new LinkedHashSet<>();
+        Set<String> duplicates = new LinkedHashSet<>();
+        for (String number : numbers) {
+            if (number != null && !seen.add(number) && duplicates.add(number)) {
+                conflicts.add(new MobileNumberConflict(number, "DUPLICATE", null));
+            }
+        }
+
+        Map<String, Long> existing = findExisting(seen);
+        for (String number : seen) {
+            Long owner = existing.get(number);
+            if (owner != null && !Objects.equals(owner, customerId)) {
+                conflicts.add(new MobileNumberConflict(number, "REGISTERED", owner));
+            }
+        }
+        return conflicts;
+    }
+}
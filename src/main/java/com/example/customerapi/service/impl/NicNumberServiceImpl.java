@@ -0,0 +1,199 @@
+package com.example.customerapi.service.impl;
+
+import com.example.customerapi.repository.CustomerRepository;
+import com.example.customerapi.service.NicNumberService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * Checks NIC numbers against the customers table in one {@code IN} query per chunk.
+ *
+ * When {@code customerapi.nic-filter.enabled} is set, a Bloom filter of every known NIC is
+ * built on startup and kept up to date through {@link #register(String)}. Numbers the filter has
+ * never seen are definitely new and skip the database entirely. The filter only knows about rows
+ * written through this instance: a NIC inserted elsewhere is reported as new, and its row then
+ * fails the unique constraint and takes its import batch with it. It is therefore off by default;
+ * enable it only when a single instance writes customers.
+ *
+ * Warm-up logs how many NICs it loaded and how long that took, and the
+ * {@code customer_nic_filter_entries} and {@code customer_nic_filter_expected_entries} gauges
+ * show how full the filter is. Past {@code expected-insertions} the false positive rate climbs
+ * above 1% (more database checks, never wrong answers) and a warning is logged.
+ */
+@Service
+public class NicNumberServiceImpl implements NicNumberService {
+
+    private static final Logger log = LoggerFactory.getLogger(NicNumberServiceImpl.class);
+
+    private static final int IN_CLAUSE_SIZE = 1000;
+
+    private final CustomerRepository customerRepository;
+    private final BloomFilter filter;
+
+    private final AtomicBoolean overfullLogged = new AtomicBoolean();
+
+    private volatile boolean filterReady;
+
+    @Autowired
+    public NicNumberServiceImpl(CustomerRepository customerRepository,
+                                @Value("${customerapi.nic-filter.enabled:false}") boolean filterEnabled,
+                                @Value("${customerapi.nic-filter.expected-insertions:1000000}") int expectedInsertions,
+                                MeterRegistry meterRegistry) {
+        this.customerRepository = customerRepository;
+        this.filter = filterEnabled ? new BloomFilter(expectedInsertions) : null;
+        if (filter != null) {
+            Gauge.builder("customer.nic.filter.entries", filter, BloomFilter::entries)
+                .description("Distinct NIC numbers added to the duplicate filter")
+                .register(meterRegistry);
+            Gauge.builder("customer.nic.filter.expected.entries", filter, BloomFilter::expectedInsertions)
+                .description("Entries the duplicate filter is sized for at a 1% false positive rate")
+                .register(meterRegistry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        if (filter == null) return;
+        long start = System.nanoTime();
+        try (Stream<String> nicNumbers = customerRepository.streamAllNicNumbers()) {
+            nicNumbers.forEach(this::add);
+        }
+        filterReady = true;
+        log.info("NIC filter warmed up in {} ms: {} of {} expected entries",
+            (System.nanoTime() - start) / 1_000_000, filter.entries(), filter.expectedInsertions());
+    }
+
+
+    @Override
+    @Transactional(readOnly = true)
+    public Set<String> findExisting(Collection<String> nicNumbers) {
+        List<String> candidates = new ArrayList<>();
+        for (String nicNumber : nicNumbers) {
+            if (nicNumber != null && mightExist(nicNumber)) {
+                candidates.add(nicNumber);
+            }
+        }
+
+        Set<String> existing = new HashSet<>();
+        for (int i = 0; i < candidates.size(); i += IN_CLAUSE_SIZE) {
+            List<String> chunk = candidates.subList(i, Math.min(i + IN_CLAUSE_SIZE, candidates.size()));
+            existing.addAll(customerRepository.findExistingNicNumbers(chunk));
+        }
+        return existing;
+    }
+
+    @Override
+    public void register(String nicNumber) {
+        // Registering before commit is safe: a rolled back number only costs a database check later
+        if (filter != null && nicNumber != null) {
+            add(nicNumber);
+        }
+    }
+
+    private void add(String nicNumber) {
+        if (filter.add(nicNumber) && filter.entries() > filter.expectedInsertions() && overfullLogged.compareAndSet(false, true)) {
+            log.warn("NIC filter holds more than the {} entries it is sized for; its false positive rate is now " +
+                "above 1%. Raise customerapi.nic-filter.expected-insertions", filter.expectedInsertions());
+        }
+    }
+
+    private boolean mightExist(String nicNumber) {
+        return filter == null || !filterReady || filter.mightContain(nicNumber);
+    }
+
+    /**
+     * Lock-free Bloom filter sized for a 1% false positive rate at the expected number of entries.
+     * An add that sets no new bit is taken for a repeat, so {@link #entries()} slightly undercounts
+     * distinct values once false positives occur.
+     */
+    private static final class BloomFilter {
+        private static final int HASH_FUNCTIONS = 7;
+
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final long expectedInsertions;
+        private final AtomicLong entries = new AtomicLong();
+
+        BloomFilter(int expectedInsertions) {
+            this.expectedInsertions = expectedInsertions;
+            long bits = Math.max(64, (long) (-expectedInsertions * Math.log(0.01) / (Math.log(2) * Math.log(2))));
+            this.words = new AtomicLongArray((int) ((bits + 63) / 64));
+            this.bitCount = words.length() * 64L;
+        }
+
+        /**
+         * Returns whether the value was new, i.e. this call set at least one bit.
+         */
+        boolean add(String value) {
+            long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+            long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL);
+            boolean added = false;
+            for (int i = 0; i < HASH_FUNCTIONS; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                while (((current = words.get(word)) & mask) == 0) {
+                    if (words.compareAndSet(word, current, current | mask)) {
+                        added = true;
+                        break;
+                    }
+                }
+            }
+            if (added) {
+                entries.incrementAndGet();
+            }
+            return added;
+        }
+
+        long entries() {
+            return entries.get();
+        }
+
+        long expectedInsertions() {
+            return expectedInsertions;
+        }
+
+        boolean mightContain(String value) {
+            long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+            long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL);
+            for (int i = 0; i < HASH_FUNCTIONS; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long hash(String value, long seed) {
+            long h = seed;
+            for (int i = 0; i < value.length(); i++) {
+                h = (h ^ value.charAt(i)) * 0x100000001B3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.customerapi.service.impl;
+
+import com.example.customerapi.dto.ReferenceDataCacheStats;
+import com.example.customerapi.entity.City;
+import com.example.customerapi.entity.Country;
+import com.example.customerapi.repository.CityRepository;
+import com.example.customerapi.repository.CountryRepository;
+import com.example.customerapi.service.ReferenceDataService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps countries (by code) and cities (by name and country id) in memory so that address
+ * resolution does not need a SELECT per row. Entries are only added once the transaction that
+ * read or created them has committed, so a rolled back insert never ends up in the cache.
+ */
+@Service
+public class ReferenceDataServiceImpl implements ReferenceDataService {
+
+    private final CountryRepository countryRepository;
+    private final CityRepository cityRepository;
+    private final int maxEntries;
+
+    private final Map<String, Country> countriesByCode = new ConcurrentHashMap<>();
+    private final Map<CityKey, City> citiesByKey = new ConcurrentHashMap<>();
+
+    private final LongAdder countryHits = new LongAdder();
+    private final LongAdder countryMisses = new LongAdder();
+    private final LongAdder cityHits = new LongAdder();
+    private final LongAdder cityMisses = new LongAdder();
+
+    @Autowired
+    public ReferenceDataServiceImpl(CountryRepository countryRepository,
+                                    CityRepository cityRepository,
+                                    @Value("${customerapi.reference-data.cache.max-entries:10000}") int maxEntries) {
+        this.countryRepository = countryRepository;
+        this.cityRepository = cityRepository;
+        this.maxEntries = maxEntries;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reload();
+    }
+
+    @Override
+    @Transactional
+    public Country resolveCountry(String code, String name) {
+        Country cached = countriesByCode.get(code);
+        if (cached != null) {
+            countryHits.increment();
+            return cached;
+        }
+        countryMisses.increment();
+
+        Country country = countryRepository.findByCode(code).orElseGet(() -> {
+            Country created = new Country();
+            created.setName(name);
+            created.setCode(code);
+            return countryRepository.save(created);
+        });
+        afterCommit(() -> put(countriesByCode, code, country));
+        return country;
+    }
+
+    @Override
+    @Transactional
+    public City resolveCity(String name, Country country) {
+        CityKey key = new CityKey(name, country.getId());
+        City cached = citiesByKey.get(key);
+        if (cached != null) {
+            cityHits.increment();
+            return cached;
+        }
+        cityMisses.increment();
+
+        City city = cityRepository.findByNameAndCountryId(name, country.getId()).orElseGet(() -> {
+            City created = new City();
+            created.setName(name);
+            created.setCountry(country);
+            return cityRepository.save(created);
+        });
+        afterCommit(() -> put(citiesByKey, key, city));
+        return city;
+    }
+
+    @Override
+    public ReferenceDataCacheStats getCacheStats() {
+        return new ReferenceDataCacheStats(
+            countriesByCode.size(),
+            citiesByKey.size(),
+            countryHits.sum(),
+            countryMisses.sum(),
+            cityHits.sum(),
+            cityMisses.sum()
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void reload() {
+        countriesByCode.clear();
+        citiesByKey.clear();
+        for (Country country : countryRepository.findAll()) {
+            put(countriesByCode, country.getCode(), country);
+        }
+        for (City city : cityRepository.findAllWithCountry()) {
+            put(citiesByKey, new CityKey(city.getName(), city.getCountry().getId()), city);
+        }
+    }
+
+    private <K, V> void put(Map<K, V> cache, K key, V value) {
+        // Bounded: once full, further lookups simply fall through to the database
+        if (cache.size() < maxEntries) {
+            cache.putIfAbsent(key, value);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record CityKey(String name, Long countryId) {
+    }
+}
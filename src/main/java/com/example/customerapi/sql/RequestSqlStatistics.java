@@ -0,0 +1,38 @@
+package com.example.customerapi.sql;
+
+/**
+ * SQL statements executed and time spent in JDBC on behalf of one HTTP request. Bound to the
+ * request thread by {@link SqlStatementBudgetFilter} and filled in by {@link SqlStatementListener}.
+ */
+public class RequestSqlStatistics {
+
+    private static final ThreadLocal<RequestSqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long jdbcNanos;
+
+    static RequestSqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    static void bind(RequestSqlStatistics statistics) {
+        CURRENT.set(statistics);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    void statementExecuted(long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getJdbcMillis() {
+        return jdbcNanos / 1_000_000;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.customerapi.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Counts the SQL statements each HTTP request causes and warns when a request goes over
+ * {@code customerapi.sql-budget.max-statements}, which is how N+1 loading usually shows up.
+ *
+ * With {@code customerapi.sql-budget.response-headers} on (dev and tests), the counts are also
+ * returned as {@value #STATEMENTS_HEADER} and {@value #JDBC_TIME_HEADER}. Lazy loading can
+ * still happen while Jackson writes the body, so the response is buffered until the count is
+ * final; keep this off in production. Streamed bodies ({@code StreamingResponseBody}, emitters)
+ * are never buffered: Spring MVC marks those requests as streaming before opening the body, and
+ * the filter writes them straight through without the headers. Handlers that stream some other
+ * way opt out with {@link #disableResponseBuffering(ServletRequest)}. Work done on another thread
+ * (e.g. streamed downloads) is not counted.
+ */
+@Component
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statement-Count";
+    public static final String JDBC_TIME_HEADER = "X-SQL-Time-Ms";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementBudgetFilter.class);
+    private static final String STATISTICS_ATTRIBUTE = RequestSqlStatistics.class.getName();
+    private static final String BUFFERING_DISABLED_ATTRIBUTE = SqlStatementBudgetFilter.class.getName() + ".BUFFERING_DISABLED";
+    // Set through ShallowEtagHeaderFilter.disableContentCaching by Spring MVC's streaming return value handlers
+    private static final String STREAMING_ATTRIBUTE = ShallowEtagHeaderFilter.class.getName() + ".STREAMING";
+
+    private final int maxStatements;
+    private final boolean responseHeaders;
+    private final DistributionSummary statementsPerRequest;
+
+    @Autowired
+    public SqlStatementBudgetFilter(@Value("${customerapi.sql-budget.max-statements:20}") int maxStatements,
+                                    @Value("${customerapi.sql-budget.response-headers:false}") boolean responseHeaders,
+                                    MeterRegistry meterRegistry) {
+        this.maxStatements = maxStatements;
+        this.responseHeaders = responseHeaders;
+        this.statementsPerRequest = DistributionSummary.builder("http.server.requests.sql.statements")
+            .description("SQL statements executed per HTTP request")
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestSqlStatistics statistics = (RequestSqlStatistics) request.getAttribute(STATISTICS_ATTRIBUTE);
+        HttpServletResponse responseToUse = response;
+        if (statistics == null) {
+            statistics = new RequestSqlStatistics();
+            request.setAttribute(STATISTICS_ATTRIBUTE, statistics);
+            if (responseHeaders) {
+                responseToUse = new ConditionalContentCachingResponseWrapper(response, request);
+            }
+        }
+
+        RequestSqlStatistics.bind(statistics);
+        try {
+            chain.doFilter(request, responseToUse);
+        } finally {
+            RequestSqlStatistics.unbind();
+        }
+
+        if (!isAsyncStarted(request)) {
+            complete(request, responseToUse, statistics);
+        }
+    }
+
+    /**
+     * Writes the response body of the current request straight through instead of buffering it
+     * for the statement-count headers. Must be called before the body is written.
+     */
+    public static void disableResponseBuffering(ServletRequest request) {
+        request.setAttribute(BUFFERING_DISABLED_ATTRIBUTE, true);
+    }
+
+    private void complete(HttpServletRequest request, HttpServletResponse response, RequestSqlStatistics statistics)
+            throws IOException {
+        statementsPerRequest.record(statistics.getStatements());
+        if (statistics.getStatements() > maxStatements) {
+            log.warn("{} {} executed {} SQL statements ({} ms in JDBC), budget is {}",
+                request.getMethod(), request.getRequestURI(), statistics.getStatements(),
+                statistics.getJdbcMillis(), maxStatements);
+        }
+
+        ContentCachingResponseWrapper buffered =
+            WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (buffered != null) {
+            buffered.setHeader(STATEMENTS_HEADER, String.valueOf(statistics.getStatements()));
+            buffered.setHeader(JDBC_TIME_HEADER, String.valueOf(statistics.getJdbcMillis()));
+            buffered.copyBodyToResponse();
+        }
+    }
+
+    private static class ConditionalContentCachingResponseWrapper extends ContentCachingResponseWrapper {
+
+        private final HttpServletRequest request;
+
+        ConditionalContentCachingResponseWrapper(HttpServletResponse response, HttpServletRequest request) {
+            super(response);
+            this.request = request;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            return bufferingDisabled() ? writeThrough().getOutputStream() : super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            return bufferingDisabled() ? writeThrough().getWriter() : super.getWriter();
+        }
+
+        private boolean bufferingDisabled() {
+            return request.getAttribute(BUFFERING_DISABLED_ATTRIBUTE) != null
+                || request.getAttribute(STREAMING_ATTRIBUTE) != null;
+        }
+
+        private ServletResponse writeThrough() {
+            // The wrapper holds back the content type until the buffer is copied, which never happens here
+            String contentType = getContentType();
+            if (contentType != null && getResponse().getContentType() == null) {
+                getResponse().setContentType(contentType);
+            }
+            return getResponse();
+        }
+    }
+}
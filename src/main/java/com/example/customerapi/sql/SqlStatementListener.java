@@ -0,0 +1,42 @@
+package com.example.customerapi.sql;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Counts every JDBC execution of a Hibernate session (a query, a single DML statement or one
+ * JDBC batch) towards the statistics of the request the current thread is serving.
+ *
+ * Hibernate creates one instance per session, so the start timestamps need no synchronization.
+ */
+public class SqlStatementListener implements SessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record(statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record(batchStart);
+    }
+
+    private static void record(long start) {
+        RequestSqlStatistics statistics = RequestSqlStatistics.current();
+        if (statistics != null) {
+            statistics.statementExecuted(System.nanoTime() - start);
+        }
+    }
+}
@@ -62,4 +62,8 @@ SELECT 'Delhi', 9 WHERE NOT EXISTS (SELECT 1 FROM cities WHERE name = 'Delhi' AN
 UNION ALL
 SELECT 'Rio de Janeiro', 10 WHERE NOT EXISTS (SELECT 1 FROM cities WHERE name = 'Rio de Janeiro' AND country_id = 10)
 UNION ALL
-SELECT 'São Paulo', 10 WHERE NOT EXISTS (SELECT 1 FROM cities WHERE name = 'São Paulo' AND country_id = 10); 
\ No newline at end of file
+SELECT 'São Paulo', 10 WHERE NOT EXISTS (SELECT 1 FROM cities WHERE name = 'São Paulo' AND country_id = 10); 
+
+-- Version of the customer list, for list ETags (CustomerListVersionServiceImpl)
+INSERT INTO customer_list_version (id, version)
+SELECT 1, 0 WHERE NOT EXISTS (SELECT 1 FROM customer_list_version WHERE id = 1);
@@ -0,0 +1,43 @@
+package com.example.customerapi;
+
+import com.example.customerapi.service.CustomerService;
+import com.example.customerapi.support.CustomerWorkbooks;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:metrics;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false"
+})
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsEndpointTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Test
+    void prometheusEndpointExposesServiceHibernatePoolAndImportMeters() throws Exception {
+        customerService.bulkCreateCustomers(CustomerWorkbooks.customers(1, 10, false));
+        customerService.getCustomerViews(0, 10);
+
+        String scrape = restTemplate.getForObject("/actuator/prometheus", String.class);
+
+        assertTrue(scrape.contains("customer_service_seconds_count{"), "CustomerService timer");
+        assertTrue(scrape.contains("method=\"getCustomerViews\""), "timer tagged by method");
+        assertTrue(scrape.contains("customer_service_seconds_bucket{"), "timer histogram");
+        assertTrue(scrape.contains("hibernate_query_executions_total"), "Hibernate statistics");
+        assertTrue(scrape.contains("hikaricp_connections_active"), "Hikari pool gauges");
+        assertTrue(scrape.contains("customer_import_rows_processed_total"), "import rows counter");
+        assertTrue(scrape.contains("customer_import_rows_failed_total"), "import failure counter");
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.customerapi.controller;
+
+import com.example.customerapi.dto.BulkDeleteReport;
+import com.example.customerapi.dto.BulkDeleteRequest;
+import com.example.customerapi.entity.Customer;
+import com.example.customerapi.repository.CountryRepository;
+import com.example.customerapi.search.CustomerSearchIndex;
+import com.example.customerapi.service.CustomerCountService;
+import com.example.customerapi.service.CustomerService;
+import com.example.customerapi.sql.SqlStatementBudgetFilter;
+import com.example.customerapi.support.CustomerWorkbooks;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:customer-delete;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false",
+    "customerapi.search.index.enabled=true"
+})
+@ActiveProfiles("test")
+class CustomerDeleteTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerCountService customerCountService;
+
+    @Autowired
+    private CustomerSearchIndex customerSearchIndex;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void seed() throws IOException {
+        if (customerService.getTotalCustomerCount() == 0) {
+            // 1200 customers, each listing a relative as family
+            customerService.bulkCreateCustomers(CustomerWorkbooks.customers(1, 1200, true));
+        }
+    }
+
+    @Test
+    void deletingARelativeTouchesTheCustomersThatListedThem() {
+        Long customer = id("000000001V");
+        Long relative = id("000000001X");
+        assertEquals(1, familyMemberCount(customer));
+        transactionTemplate.executeWithoutResult(status -> countryRepository.findByCode("UK").orElseThrow());
+        Timestamp updatedAt = updatedAt(customer);
+
+        ResponseEntity<Void> response = restTemplate.exchange("/api/customers/delete/" + relative, HttpMethod.DELETE, null, Void.class);
+
+        assertEquals(200, response.getStatusCode().value());
+        // Customer ids, mobile numbers for the search index, the family update, six deletes
+        // (mobile numbers, addresses, family member rows, links both ways, customers) and the list version
+        assertEquals("10", response.getHeaders().getFirst(SqlStatementBudgetFilter.STATEMENTS_HEADER));
+        assertEquals(0, count("SELECT COUNT(*) FROM customers WHERE id = " + relative));
+        assertEquals(0, count("SELECT COUNT(*) FROM customer_family_members WHERE family_member_id = " + relative));
+        assertTrue(updatedAt(customer).after(updatedAt));
+        assertEquals(0, familyMemberCount(customer));
+        assertEquals(0, customerSearchIndex.suggest("000000001x", 10).size());
+
+        // Reference data stays cached
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> countryRepository.findByCode("UK").orElseThrow());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void deletingACustomerRemovesTheirRowsButNotTheirRelatives() {
+        Long customer = id("000000002V");
+        long before = customerCountService.getCount();
+
+        restTemplate.delete("/api/customers/delete/" + customer);
+
+        assertEquals(0, count("SELECT COUNT(*) FROM customers WHERE id = " + customer));
+        assertEquals(0, count("SELECT COUNT(*) FROM mobile_numbers WHERE customer_id = " + customer));
+        assertEquals(0, count("SELECT COUNT(*) FROM addresses WHERE customer_id = " + customer));
+        assertEquals(1, count("SELECT COUNT(*) FROM customers WHERE nic_number = '000000002X'"));
+        assertEquals(before - 1, customerCountService.getCount());
+        assertEquals(0, customerSearchIndex.suggest("+94770000002", 10).size());
+    }
+
+    @Test
+    void deletingAnUnknownCustomerFails() {
+        ResponseEntity<String> response = restTemplate.exchange("/api/customers/delete/999999", HttpMethod.DELETE, null, String.class);
+
+        assertTrue(response.getStatusCode().isError());
+    }
+
+    @Test
+    void bulkDeleteByIdsAndNicNumbersInChunks() {
+        List<Long> ids = new ArrayList<>();
+        for (int n = 10; n < 1110; n++) {
+            ids.add(id(String.format("%09dV", n)));
+        }
+        ids.add(ids.get(0));
+        ids.add(999999L);
+        List<String> nicNumbers = List.of("000001150V", "000001151X", "999999999V");
+        long before = count("SELECT COUNT(*) FROM customers");
+
+        BulkDeleteReport report = restTemplate.postForObject("/api/customers/bulk/delete",
+            new BulkDeleteRequest(ids, nicNumbers), BulkDeleteReport.class);
+
+        assertEquals(1104, report.requested());
+        assertEquals(1102, report.deleted());
+        assertEquals(2, report.notFound());
+        assertEquals(0, report.failed());
+        assertEquals(List.of("NOT_FOUND", "NOT_FOUND"), report.items().stream().map(BulkDeleteReport.Item::status).toList());
+        assertEquals(before - 1102, count("SELECT COUNT(*) FROM customers"));
+        assertEquals(0, count("SELECT COUNT(*) FROM customer_family_members f " +
+            "WHERE NOT EXISTS (SELECT 1 FROM customers c WHERE c.id = f.customer_id) " +
+            "OR NOT EXISTS (SELECT 1 FROM customers c WHERE c.id = f.family_member_id)"));
+        assertEquals(count("SELECT COUNT(*) FROM customers"), customerCountService.getCount());
+        assertEquals(0, customerSearchIndex.suggest("000000500v", 10).size());
+    }
+
+    private Long id(String nicNumber) {
+        return jdbcTemplate.queryForObject("SELECT id FROM customers WHERE nic_number = ?", Long.class, nicNumber);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private Timestamp updatedAt(Long id) {
+        return jdbcTemplate.queryForObject("SELECT updated_at FROM customers WHERE id = ?", Timestamp.class, id);
+    }
+
+    /**
+     * Through the second-level cache, so a stale family collection would show up here.
+     */
+    private int familyMemberCount(Long id) {
+        return transactionTemplate.execute(status -> {
+            Customer customer = customerService.getCustomerById(id);
+            return customer.getFamilyMembers().size();
+        });
+    }
+}
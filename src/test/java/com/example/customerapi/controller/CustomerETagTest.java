@@ -0,0 +1,204 @@
+package com.example.customerapi.controller;
+
+import com.example.customerapi.entity.Customer;
+import com.example.customerapi.repository.CustomerRepository;
+import com.example.customerapi.service.CustomerService;
+import com.example.customerapi.sql.SqlStatementBudgetFilter;
+import com.example.customerapi.support.CustomerWorkbooks;
+import com.example.customerapi.support.RecordingStatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:customer-etags;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.customerapi.support.RecordingStatementInspector"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CustomerETagTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void seed() throws IOException {
+        if (customerService.getTotalCustomerCount() == 0) {
+            customerService.bulkCreateCustomers(CustomerWorkbooks.customers(1, 20, true));
+        }
+    }
+
+    @Test
+    void unchangedCustomerIsNotModified() {
+        String url = "/api/customers/view/" + idOf("000000001V");
+        ResponseEntity<String> first = restTemplate.getForEntity(url, String.class);
+        String eTag = first.getHeaders().getETag();
+        assertNotNull(eTag);
+
+        ResponseEntity<String> second = get(url, eTag);
+
+        assertEquals(304, second.getStatusCode().value());
+        assertNull(second.getBody());
+        assertEquals(eTag, second.getHeaders().getETag());
+        assertEquals("1", second.getHeaders().getFirst(SqlStatementBudgetFilter.STATEMENTS_HEADER));
+    }
+
+    @Test
+    void updatedCustomerGetsNewETag() {
+        Long id = idOf("000000002V");
+        String url = "/api/customers/view/" + id;
+        String eTag = restTemplate.getForEntity(url, String.class).getHeaders().getETag();
+
+        update(id, customer -> customer.setName("Renamed"));
+        ResponseEntity<String> response = get(url, eTag);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertNotEquals(eTag, response.getHeaders().getETag());
+    }
+
+    @Test
+    void renamedFamilyMemberChangesETag() {
+        Customer customer = transactionTemplate.execute(status -> {
+            Customer loaded = customerRepository.findByNicNumber("000000003V").orElseThrow();
+            loaded.getFamilyMembers().size();
+            return loaded;
+        });
+        String url = "/api/customers/view/" + customer.getId();
+        String eTag = restTemplate.getForEntity(url, String.class).getHeaders().getETag();
+
+        update(customer.getFamilyMembers().get(0).getId(), member -> member.setName("Renamed member"));
+
+        assertEquals(200, get(url, eTag).getStatusCode().value());
+    }
+
+    @Test
+    void listIsNotModifiedUntilACustomerChanges() {
+        String url = "/api/customers/list?size=5";
+        String eTag = restTemplate.getForEntity(url, String.class).getHeaders().getETag();
+        assertNotNull(eTag);
+
+        ResponseEntity<String> unchanged = get(url, eTag);
+        assertEquals(304, unchanged.getStatusCode().value());
+        assertEquals("1", unchanged.getHeaders().getFirst(SqlStatementBudgetFilter.STATEMENTS_HEADER));
+
+        update(idOf("000000004V"), customer -> customer.setName("Renamed"));
+        ResponseEntity<String> changed = get(url, eTag);
+
+        assertEquals(200, changed.getStatusCode().value());
+        assertNotEquals(eTag, changed.getHeaders().getETag());
+    }
+
+    @Test
+    void listETagFollowsSetBasedDeletes() {
+        String url = "/api/customers/list?size=5";
+        String eTag = restTemplate.getForEntity(url, String.class).getHeaders().getETag();
+
+        // JPQL bulk deletes raise no entity events
+        restTemplate.delete("/api/customers/delete/" + idOf("000000005V"));
+        ResponseEntity<String> response = get(url, eTag);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertNotEquals(eTag, response.getHeaders().getETag());
+    }
+
+    @Test
+    void listETagFollowsImports() throws IOException {
+        String url = "/api/customers/list?size=5";
+        String eTag = restTemplate.getForEntity(url, String.class).getHeaders().getETag();
+
+        customerService.bulkCreateCustomers(CustomerWorkbooks.customers(21, 21, false));
+
+        assertNotEquals(eTag, get(url, eTag).getHeaders().getETag());
+    }
+
+    @Test
+    void listETagFollowsChangesMadeByOtherInstances() {
+        String url = "/api/customers/list?size=5";
+        String eTag = restTemplate.getForEntity(url, String.class).getHeaders().getETag();
+        long cachedCount = customerService.getCachedCustomerCount();
+
+        // What a write on another instance does to the shared row; this instance's count does not move
+        jdbcTemplate.update("UPDATE customer_list_version SET version = version + 1 WHERE id = 1");
+        ResponseEntity<String> response = get(url, eTag);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertNotEquals(eTag, response.getHeaders().getETag());
+        assertEquals(cachedCount, customerService.getCachedCustomerCount());
+    }
+
+    @Test
+    void pageWithoutTotalDoesNotCountCustomers() {
+        List<String> statements = RecordingStatementInspector.record(() -> {
+            MvcResult result = perform("/api/customers/list?size=5&total=none");
+            assertEquals(200, result.getResponse().getStatus());
+            assertEquals("5", result.getResponse().getHeader(SqlStatementBudgetFilter.STATEMENTS_HEADER));
+            return result;
+        });
+
+        // The version by primary key, the page, then its mobile numbers, addresses and family members
+        assertEquals(5, statements.size(), statements::toString);
+        assertTrue(statements.get(0).toLowerCase().contains("from customer_list_version"), statements::toString);
+        assertTrue(statements.stream().noneMatch(sql -> sql.toLowerCase().contains("count(")), statements::toString);
+    }
+
+    private ResponseEntity<String> get(String url, String eTag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(eTag);
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    private MvcResult perform(String url) {
+        try {
+            return mockMvc.perform(MockMvcRequestBuilders.get(url)).andReturn();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Long idOf(String nicNumber) {
+        return customerRepository.findByNicNumber(nicNumber).orElseThrow().getId();
+    }
+
+    private void update(Long id, Consumer<Customer> change) {
+        transactionTemplate.executeWithoutResult(status -> change.accept(customerRepository.findById(id).orElseThrow()));
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.customerapi.controller;
+
+import com.example.customerapi.service.CustomerExportService;
+import com.example.customerapi.service.CustomerService;
+import com.example.customerapi.support.CustomerWorkbooks;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:customer-export;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false",
+    "customerapi.export.fetch-size=7",
+    "customerapi.export.max-concurrent=2"
+})
+@ActiveProfiles("test")
+class CustomerExportTest {
+
+    private static final int CUSTOMERS = 30;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CustomerExportService customerExportService;
+
+    @BeforeEach
+    void seed() throws IOException {
+        if (customerService.getTotalCustomerCount() == 0) {
+            customerService.bulkCreateCustomers(CustomerWorkbooks.customers(1, CUSTOMERS, true));
+        }
+    }
+
+    @Test
+    void exportsEveryCustomerAsOneJsonLine() throws IOException {
+        ResponseEntity<String> response = restTemplate.getForEntity("/api/customers/export", String.class);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals("application/x-ndjson;charset=UTF-8", response.getHeaders().getContentType().toString());
+        List<String> lines = response.getBody().lines().toList();
+        // every imported customer brings one family member who is a customer too
+        assertEquals(customerService.getTotalCustomerCount(), lines.size());
+
+        JsonNode customer = lines.stream()
+            .map(this::readTree)
+            .filter(node -> node.get("nicNumber").asText().equals("000000003V"))
+            .findFirst()
+            .orElseThrow();
+        assertEquals("Customer 3", customer.get("name").asText());
+        assertEquals("1990-01-01", customer.get("dateOfBirth").asText());
+        assertEquals("+94770000003", customer.get("mobileNumbers").get(0).asText());
+        assertEquals(1, customer.get("addresses").size());
+        assertEquals("3 Main Street", customer.get("addresses").get(0).get("addressLine1").asText());
+        assertTrue(customer.get("addresses").get(0).hasNonNull("country"));
+        assertEquals("000000003X", customer.get("familyMemberNicNumbers").get(0).asText());
+    }
+
+    @Test
+    void exportsCsvWithOneRowPerCustomer() {
+        ResponseEntity<String> response = restTemplate.getForEntity("/api/customers/export?format=csv", String.class);
+
+        assertEquals(200, response.getStatusCode().value());
+        List<String> lines = response.getBody().lines().toList();
+        assertEquals("id,name,date_of_birth,nic_number,mobile_numbers,addresses,family_member_nic_numbers", lines.get(0));
+        assertEquals(customerService.getTotalCustomerCount() + 1, lines.size());
+        assertTrue(lines.stream().anyMatch(line ->
+            line.contains(",Customer 5,1990-01-01,000000005V,+94770000005,5 Main Street;;") && line.endsWith(",000000005X")),
+            "row of customer 5");
+    }
+
+    @Test
+    void compressesWhenTheClientAcceptsGzip() throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        ResponseEntity<byte[]> response = restTemplate.exchange("/api/customers/export?format=csv",
+            HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getBody()))) {
+            String csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals(customerService.getTotalCustomerCount() + 1, csv.lines().count());
+        }
+    }
+
+    @Test
+    void refusesExportsBeyondTheConcurrencyLimit() {
+        CustomerExportService.ExportSlot first = customerExportService.reserveSlot().orElseThrow();
+        CustomerExportService.ExportSlot second = customerExportService.reserveSlot().orElseThrow();
+        try {
+            assertFalse(customerExportService.reserveSlot().isPresent());
+            assertEquals(503, restTemplate.getForEntity("/api/customers/export", String.class).getStatusCode().value());
+        } finally {
+            first.close();
+            second.close();
+            // Closing twice gives nothing back twice
+            second.close();
+        }
+
+        assertEquals(200, restTemplate.getForEntity("/api/customers/export", String.class).getStatusCode().value());
+        CustomerExportService.ExportSlot a = customerExportService.reserveSlot().orElseThrow();
+        CustomerExportService.ExportSlot b = customerExportService.reserveSlot().orElseThrow();
+        assertFalse(customerExportService.reserveSlot().isPresent());
+        a.close();
+        b.close();
+    }
+
+    @Test
+    void rejectsUnknownFormats() {
+        assertEquals(400, restTemplate.getForEntity("/api/customers/export?format=xml", String.class)
+            .getStatusCode().value());
+    }
+
+    private JsonNode readTree(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
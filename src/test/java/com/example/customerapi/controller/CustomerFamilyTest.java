@@ -0,0 +1,162 @@
+package com.example.customerapi.controller;
+
+import com.example.customerapi.service.CustomerService;
+import com.example.customerapi.sql.SqlStatementBudgetFilter;
+import com.example.customerapi.support.CustomerWorkbooks;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:customer-family;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false",
+    "customerapi.family-graph.max-nodes=4"
+})
+@ActiveProfiles("test")
+class CustomerFamilyTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void seed() throws IOException {
+        if (customerService.getTotalCustomerCount() > 0) return;
+        customerService.bulkCreateCustomers(CustomerWorkbooks.customers(1, 12, false));
+
+        // 3 -> 1 -> 2 -> 4 -> 5 -> 6; 7 -> 8 -> 9 -> 7; 10 <-> 11; 12 on their own
+        link(1, 2);
+        link(3, 1);
+        link(2, 4);
+        link(4, 5);
+        link(5, 6);
+        link(7, 8);
+        link(8, 9);
+        link(9, 7);
+        link(10, 11);
+        link(11, 10);
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void walksBothDirectionsOneQueryPerLevel() throws IOException {
+        ResponseEntity<String> response = restTemplate.getForEntity("/api/customers/family/" + id(1) + "?depth=2", String.class);
+        JsonNode graph = objectMapper.readTree(response.getBody());
+
+        assertEquals(Map.of(id(1), 0, id(2), 1, id(3), 1, id(4), 2), levels(graph));
+        assertEquals(Set.of(List.of(id(1), id(2)), List.of(id(3), id(1)), List.of(id(2), id(4))), edges(graph));
+        assertEquals("000000001V", graph.get("nodes").get(0).get("nicNumber").asText());
+        assertFalse(graph.get("cyclic").asBoolean());
+        assertFalse(graph.get("truncated").asBoolean());
+        // One link query per level, then one for the customers found
+        assertEquals("3", response.getHeaders().getFirst(SqlStatementBudgetFilter.STATEMENTS_HEADER));
+    }
+
+    @Test
+    void stopsAtCustomersAlreadyReached() throws IOException {
+        ResponseEntity<String> response = restTemplate.getForEntity("/api/customers/family/" + id(7) + "?depth=10", String.class);
+        JsonNode cycle = objectMapper.readTree(response.getBody());
+
+        assertEquals(Map.of(id(7), 0, id(8), 1, id(9), 1), levels(cycle));
+        assertEquals(3, cycle.get("edges").size());
+        assertTrue(cycle.get("cyclic").asBoolean());
+        // The second level finds nobody new, so the walk ends there
+        assertEquals("3", response.getHeaders().getFirst(SqlStatementBudgetFilter.STATEMENTS_HEADER));
+
+        JsonNode mutual = get("/api/customers/family/" + id(10) + "?depth=3");
+        assertEquals(Map.of(id(10), 0, id(11), 1), levels(mutual));
+        assertEquals(2, mutual.get("edges").size());
+        assertFalse(mutual.get("cyclic").asBoolean());
+    }
+
+    @Test
+    void findsLinksBetweenCustomersOfTheLastLevel() throws IOException {
+        ResponseEntity<String> response = restTemplate.getForEntity("/api/customers/family/" + id(7) + "?depth=1", String.class);
+        JsonNode cycle = objectMapper.readTree(response.getBody());
+
+        assertEquals(Map.of(id(7), 0, id(8), 1, id(9), 1), levels(cycle));
+        assertEquals(Set.of(List.of(id(7), id(8)), List.of(id(8), id(9)), List.of(id(9), id(7))), edges(cycle));
+        assertTrue(cycle.get("cyclic").asBoolean());
+        // The level, the links between 8 and 9, the customers found
+        assertEquals("3", response.getHeaders().getFirst(SqlStatementBudgetFilter.STATEMENTS_HEADER));
+    }
+
+    @Test
+    void stopsAtTheNodeLimit() throws IOException {
+        JsonNode graph = get("/api/customers/family/" + id(1) + "?depth=10");
+
+        assertEquals(4, graph.get("nodes").size());
+        assertTrue(graph.get("truncated").asBoolean());
+    }
+
+    @Test
+    void customerWithoutFamilyIsAGraphOfOne() throws IOException {
+        JsonNode graph = get("/api/customers/family/" + id(12) + "?depth=0");
+
+        assertEquals(1, graph.get("depth").asInt());
+        assertEquals(Map.of(id(12), 0), levels(graph));
+        assertEquals(0, graph.get("edges").size());
+    }
+
+    @Test
+    void unknownCustomerIsAnError() {
+        assertTrue(restTemplate.getForEntity("/api/customers/family/999999", String.class).getStatusCode().isError());
+    }
+
+    private void link(int customer, int familyMember) {
+        jdbcTemplate.update("INSERT INTO customer_family_members (customer_id, family_member_id) VALUES (?, ?)",
+            id(customer), id(familyMember));
+    }
+
+    private long id(int index) {
+        return jdbcTemplate.queryForObject("SELECT id FROM customers WHERE nic_number = ?", Long.class,
+            String.format("%09dV", index));
+    }
+
+    private JsonNode get(String url) throws IOException {
+        return objectMapper.readTree(restTemplate.getForObject(url, String.class));
+    }
+
+    private static Map<Long, Integer> levels(JsonNode graph) {
+        Map<Long, Integer> levels = new HashMap<>();
+        graph.get("nodes").forEach(node -> levels.put(node.get("id").asLong(), node.get("depth").asInt()));
+        return levels;
+    }
+
+    private static Set<List<Long>> edges(JsonNode graph) {
+        Set<List<Long>> edges = new HashSet<>();
+        graph.get("edges").forEach(edge ->
+            edges.add(List.of(edge.get("customerId").asLong(), edge.get("familyMemberId").asLong())));
+        return edges;
+    }
+}
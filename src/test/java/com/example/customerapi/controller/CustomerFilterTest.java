@@ -0,0 +1,246 @@
+package com.example.customerapi.controller;
+
+import com.example.customerapi.dto.CustomerFilter;
+import com.example.customerapi.entity.City;
+import com.example.customerapi.entity.Country;
+import com.example.customerapi.service.CustomerService;
+import com.example.customerapi.service.ReferenceDataService;
+import com.example.customerapi.support.CustomerWorkbooks;
+import com.example.customerapi.support.RecordingStatementInspector;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:customer-filters;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.customerapi.support.RecordingStatementInspector"
+})
+@ActiveProfiles("test")
+class CustomerFilterTest {
+
+    private static final CustomerFilter NO_FILTER = new CustomerFilter(null, null, null, null, null, null, null, null);
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private ReferenceDataService referenceDataService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void seed() throws IOException {
+        if (customerService.getTotalCustomerCount() > 0) return;
+        customerService.bulkCreateCustomers(CustomerWorkbooks.customers(1, 120, false));
+
+        // Spread customers over three cities and give them distinct birth dates and timestamps
+        Country sriLanka = referenceDataService.resolveCountry("LK", "Sri Lanka");
+        City colombo = referenceDataService.resolveCity("Colombo", sriLanka);
+        City kandy = referenceDataService.resolveCity("Kandy", sriLanka);
+        jdbcTemplate.update("UPDATE addresses SET city_id = ? WHERE MOD(customer_id, 3) = 1", colombo.getId());
+        jdbcTemplate.update("UPDATE addresses SET city_id = ? WHERE MOD(customer_id, 3) = 2", kandy.getId());
+        jdbcTemplate.update("UPDATE customers SET date_of_birth = DATEADD('DAY', id * 97, DATE '1950-01-01'), " +
+            "created_at = DATEADD('HOUR', id, TIMESTAMP '2024-01-01 00:00:00'), " +
+            "updated_at = DATEADD('HOUR', 1000 - id, TIMESTAMP '2024-06-01 00:00:00')");
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void filtersByCountryAndCity() throws IOException {
+        List<JsonNode> inSriLanka = all("country=LK");
+        assertEquals(count("SELECT COUNT(*) FROM customers WHERE MOD(id, 3) <> 0"), inSriLanka.size());
+
+        List<JsonNode> inKandy = all("country=LK&city=Kandy");
+        assertEquals(count("SELECT COUNT(*) FROM customers WHERE MOD(id, 3) = 2"), inKandy.size());
+        inKandy.forEach(customer ->
+            assertEquals("Kandy", customer.get("addresses").get(0).get("city").get("name").asText()));
+
+        assertEquals(0, all("country=LK&city=London").size());
+    }
+
+    @Test
+    void keysetPagesFollowTheSortWithoutGapsOrRepeats() throws IOException {
+        List<JsonNode> born = all("bornFrom=1960-01-01&bornTo=1969-12-31&sort=dateOfBirth&size=4");
+        assertEquals(count("SELECT COUNT(*) FROM customers WHERE date_of_birth BETWEEN DATE '1960-01-01' AND DATE '1969-12-31'"),
+            born.size());
+        assertOrdered(born, "dateOfBirth", true);
+
+        List<JsonNode> created = all("createdFrom=2024-01-02T00:00:00&sort=createdAt&direction=desc&size=7");
+        assertEquals(count("SELECT COUNT(*) FROM customers WHERE created_at >= TIMESTAMP '2024-01-02 00:00:00'"),
+            created.size());
+        assertOrdered(created, "createdAt", false);
+
+        List<JsonNode> byName = all("country=LK&sort=name&size=9");
+        assertOrdered(byName, "name", true);
+        Set<Long> ids = new HashSet<>();
+        byName.forEach(customer -> ids.add(customer.get("id").asLong()));
+        assertEquals(byName.size(), ids.size());
+    }
+
+    @Test
+    void customersWithoutUpdatedAtSortLowestAndDoNotEndTheWalk() throws IOException {
+        jdbcTemplate.update("UPDATE customers SET updated_at = NULL WHERE MOD(id, 10) = 0");
+        try {
+            long withoutUpdatedAt = count("SELECT COUNT(*) FROM customers WHERE updated_at IS NULL");
+            long total = count("SELECT COUNT(*) FROM customers");
+
+            List<JsonNode> ascending = all("sort=updatedAt&size=4");
+            assertEquals(total, distinctIds(ascending));
+            ascending.subList(0, (int) withoutUpdatedAt).forEach(customer -> assertTrue(customer.get("updatedAt").isNull()));
+            assertOrdered(ascending.subList((int) withoutUpdatedAt, ascending.size()), "updatedAt", true);
+
+            List<JsonNode> descending = all("sort=updatedAt&direction=desc&size=4");
+            assertEquals(total, distinctIds(descending));
+            int firstNull = descending.size() - (int) withoutUpdatedAt;
+            assertOrdered(descending.subList(0, firstNull), "updatedAt", false);
+            descending.subList(firstNull, descending.size()).forEach(customer -> assertTrue(customer.get("updatedAt").isNull()));
+        } finally {
+            jdbcTemplate.update("UPDATE customers SET updated_at = DATEADD('HOUR', 1000 - id, TIMESTAMP '2024-06-01 00:00:00')");
+        }
+    }
+
+    @Test
+    void rejectsUnknownSortAndForeignCursor() throws IOException {
+        assertEquals(400, restTemplate.getForEntity("/api/customers/filter?sort=nicNumber", String.class).getStatusCode().value());
+
+        JsonNode page = get("/api/customers/filter?sort=name&size=2");
+        String cursor = page.get("nextCursor").asText();
+        assertEquals(400, restTemplate.getForEntity(
+            URI.create("/api/customers/filter?sort=dateOfBirth&cursor=" + cursor), String.class).getStatusCode().value());
+    }
+
+    @Test
+    void rangeFiltersUseTheirCompositeIndex() {
+        String dateOfBirthPlan = explain(new CustomerFilter(null, null, LocalDate.of(1960, 1, 1), LocalDate.of(1969, 12, 31),
+            null, null, null, null), Sort.Order.asc("dateOfBirth"));
+        assertUsesIndex(dateOfBirthPlan, "IDX_CUSTOMERS_DATE_OF_BIRTH");
+
+        String createdPlan = explain(new CustomerFilter(null, null, null, null,
+            LocalDateTime.of(2024, 1, 2, 0, 0), LocalDateTime.of(2024, 1, 3, 0, 0), null, null), Sort.Order.asc("createdAt"));
+        assertUsesIndex(createdPlan, "IDX_CUSTOMERS_CREATED_AT");
+
+        String updatedPlan = explain(new CustomerFilter(null, null, null, null, null, null,
+            LocalDateTime.of(2024, 6, 1, 0, 0), null), new Sort.Order(Sort.Direction.DESC, "updatedAt"));
+        assertUsesIndex(updatedPlan, "IDX_CUSTOMERS_UPDATED_AT");
+    }
+
+    @Test
+    void locationFilterUsesTheCityAndAddressIndexes() {
+        String plan = explain(new CustomerFilter("LK", "Kandy", null, null, null, null, null, null), Sort.Order.asc("id"));
+
+        assertUsesIndex(plan, "IDX_CITIES_COUNTRY_NAME");
+        assertUsesIndex(plan, "IDX_ADDRESSES_CITY_CUSTOMER");
+        assertUsesIndex(plan, "PRIMARY_KEY");
+    }
+
+    @Test
+    void unfilteredPageReadsThePrimaryKeyInOrder() {
+        String plan = explain(NO_FILTER, Sort.Order.asc("id"));
+
+        assertUsesIndex(plan, "PRIMARY_KEY");
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    @Test
+    void laterPagesStartTheIndexRangeAtTheCursor() {
+        String dateOfBirthPlan = explain(NO_FILTER, Sort.Order.asc("dateOfBirth"),
+            ScrollPosition.forward(Map.of("dateOfBirth", LocalDate.of(1962, 1, 1), "id", 50L)));
+        assertUsesIndex(dateOfBirthPlan, "IDX_CUSTOMERS_DATE_OF_BIRTH: DATE_OF_BIRTH >= ?");
+
+        String idPlan = explain(NO_FILTER, Sort.Order.asc("id"), ScrollPosition.forward(Map.of("id", 50L)));
+        assertUsesIndex(idPlan, "PRIMARY_KEY");
+        assertTrue(idPlan.contains("ID > ?"), idPlan);
+    }
+
+    private String explain(CustomerFilter filter, Sort.Order order) {
+        return explain(filter, order, ScrollPosition.keyset());
+    }
+
+    /**
+     * Runs the filter, takes the customer query Hibernate generated for it and returns H2's plan.
+     */
+    private String explain(CustomerFilter filter, Sort.Order order, KeysetScrollPosition position) {
+        List<String> statements = RecordingStatementInspector.record(() ->
+            customerService.filterCustomers(filter, order, position, 10));
+        String customerQuery = statements.stream()
+            .filter(sql -> sql.toLowerCase().contains("from customers"))
+            .findFirst()
+            .orElseThrow();
+        return jdbcTemplate.query(connection -> connection.prepareStatement("EXPLAIN " + customerQuery),
+            resultSet -> resultSet.next() ? resultSet.getString(1) : "");
+    }
+
+    private static void assertUsesIndex(String plan, String index) {
+        assertTrue(plan.toUpperCase().contains(index), "expected " + index + " in\n" + plan);
+        assertFalse(plan.contains("tableScan"), "full scan in\n" + plan);
+    }
+
+    private List<JsonNode> all(String query) throws IOException {
+        List<JsonNode> customers = new ArrayList<>();
+        String cursor = "";
+        do {
+            JsonNode page = get("/api/customers/filter?" + query + "&cursor=" + cursor);
+            page.get("customers").forEach(customers::add);
+            cursor = page.get("hasNext").asBoolean() ? page.get("nextCursor").asText() : null;
+        } while (cursor != null);
+        return customers;
+    }
+
+    private JsonNode get(String url) throws IOException {
+        return objectMapper.readTree(restTemplate.getForObject(URI.create(url), String.class));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private static long distinctIds(List<JsonNode> customers) {
+        Set<Long> ids = new HashSet<>();
+        customers.forEach(customer -> ids.add(customer.get("id").asLong()));
+        assertEquals(customers.size(), ids.size(), "customer repeated across pages");
+        return ids.size();
+    }
+
+    private static void assertOrdered(List<JsonNode> customers, String field, boolean ascending) {
+        for (int i = 1; i < customers.size(); i++) {
+            int comparison = customers.get(i - 1).get(field).asText().compareTo(customers.get(i).get(field).asText());
+            assertTrue(ascending ? comparison <= 0 : comparison >= 0,
+                field + " out of order at " + i + ": " + customers.get(i - 1) + " / " + customers.get(i));
+        }
+    }
+}
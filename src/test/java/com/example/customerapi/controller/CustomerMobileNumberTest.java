@@ -0,0 +1,114 @@
+package com.example.customerapi.controller;
+
+import com.example.customerapi.service.CustomerService;
+import com.example.customerapi.support.CustomerWorkbooks;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:customer-mobile-numbers;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+class CustomerMobileNumberTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() throws IOException {
+        if (customerService.getTotalCustomerCount() == 0) {
+            customerService.bulkCreateCustomers(CustomerWorkbooks.customers(1, 5, false));
+        }
+    }
+
+    @Test
+    void createReportsEveryConflictingNumber() throws IOException {
+        ResponseEntity<String> response = send(HttpMethod.POST, "/api/customers/create",
+            customer("700000001V", "+94771111111", "+94771111111", "+94770000001", "+94772222222"));
+
+        assertEquals(409, response.getStatusCode().value());
+        JsonNode conflicts = objectMapper.readTree(response.getBody()).get("conflicts");
+        assertEquals(2, conflicts.size());
+        assertEquals("+94771111111", conflicts.get(0).get("number").asText());
+        assertEquals("DUPLICATE", conflicts.get(0).get("status").asText());
+        assertEquals("+94770000001", conflicts.get(1).get("number").asText());
+        assertEquals("REGISTERED", conflicts.get(1).get("status").asText());
+        assertEquals(id("000000001V"), conflicts.get(1).get("customerId").asLong());
+        assertEquals(0, count("SELECT COUNT(*) FROM customers WHERE nic_number = '700000001V'"));
+    }
+
+    @Test
+    void createWithNewNumbersSucceeds() {
+        ResponseEntity<String> response = send(HttpMethod.POST, "/api/customers/create",
+            customer("700000002V", "+94773333333", "+94774444444"));
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(2, count("SELECT COUNT(*) FROM mobile_numbers WHERE number IN ('+94773333333', '+94774444444')"));
+    }
+
+    @Test
+    void updateMayKeepItsOwnNumbersButNotTakeAnotherCustomers() {
+        Long id = id("000000002V");
+
+        ResponseEntity<String> kept = send(HttpMethod.PUT, "/api/customers/update/" + id,
+            customer("000000002V", "+94770000002", "+94775555555"));
+        assertEquals(200, kept.getStatusCode().value());
+        assertEquals(List.of("+94770000002", "+94775555555"), jdbcTemplate.queryForList(
+            "SELECT number FROM mobile_numbers WHERE customer_id = ? ORDER BY number", String.class, id));
+
+        ResponseEntity<String> taken = send(HttpMethod.PUT, "/api/customers/update/" + id,
+            customer("000000002V", "+94770000003"));
+        assertEquals(409, taken.getStatusCode().value());
+    }
+
+    private ResponseEntity<String> send(HttpMethod method, String url, String json) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return restTemplate.exchange(url, method, new HttpEntity<>(json, headers), String.class);
+    }
+
+    private static String customer(String nicNumber, String... mobileNumbers) {
+        StringBuilder numbers = new StringBuilder();
+        for (String number : mobileNumbers) {
+            if (numbers.length() > 0) numbers.append(',');
+            numbers.append("{\"number\":\"").append(number).append("\"}");
+        }
+        return "{\"name\":\"Customer " + nicNumber + "\",\"dateOfBirth\":\"1990-01-01\",\"nicNumber\":\"" + nicNumber + "\"," +
+            "\"mobileNumbers\":[" + numbers + "]}";
+    }
+
+    private long id(String nicNumber) {
+        return jdbcTemplate.queryForObject("SELECT id FROM customers WHERE nic_number = ?", Long.class, nicNumber);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.customerapi.controller;
+
+import com.example.customerapi.dto.CustomerSuggestion;
+import com.example.customerapi.repository.CustomerRepository;
+import com.example.customerapi.search.CustomerSearchIndex;
+import com.example.customerapi.service.CustomerService;
+import com.example.customerapi.sql.SqlStatementBudgetFilter;
+import com.example.customerapi.support.CustomerWorkbooks;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:customer-search;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false",
+    "customerapi.search.index.enabled=true"
+})
+@ActiveProfiles("test")
+class CustomerSearchTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerSearchIndex customerSearchIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void seed() throws IOException {
+        if (customerService.getTotalCustomerCount() == 0) {
+            customerService.bulkCreateCustomers(CustomerWorkbooks.customers(1, 30, false));
+        }
+    }
+
+    @Test
+    void searchesByNamePrefixInNameOrder() throws IOException {
+        ResponseEntity<String> response = restTemplate.getForEntity(URI.create("/api/customers/search?name=Customer%201&limit=5"), String.class);
+
+        assertEquals(List.of("Customer 1", "Customer 10", "Customer 11", "Customer 12", "Customer 13"),
+            values(objectMapper.readTree(response.getBody()), "name"));
+        // Customer rows, then mobile numbers, addresses and family members for the page
+        assertEquals("4", response.getHeaders().getFirst(SqlStatementBudgetFilter.STATEMENTS_HEADER));
+    }
+
+    @Test
+    void searchesByNicAndMobileNumber() throws IOException {
+        assertEquals(List.of("000000020V", "000000021V", "000000022V"),
+            values(get("/api/customers/search?nic=00000002&limit=3"), "nicNumber"));
+        assertEquals(List.of("000000005V"), values(get("/api/customers/search?nic=000000005V"), "nicNumber"));
+        assertEquals(List.of("000000007V"), values(get("/api/customers/search?mobile=%2B94770000007"), "nicNumber"));
+    }
+
+    @Test
+    void wildcardsInTheQueryAreLiteral() throws IOException {
+        assertEquals(0, get("/api/customers/search?name=Customer%25").size());
+        assertEquals(0, get("/api/customers/search?nic=_").size());
+    }
+
+    @Test
+    void requiresExactlyOneCriterion() {
+        assertEquals(400, restTemplate.getForEntity("/api/customers/search", String.class).getStatusCode().value());
+        assertEquals(400, restTemplate.getForEntity("/api/customers/search?name=a&nic=b", String.class).getStatusCode().value());
+    }
+
+    @Test
+    void limitIsClamped() throws IOException {
+        assertEquals(1, get("/api/customers/search?name=Customer&limit=0").size());
+    }
+
+    @Test
+    void suggestionsFollowWrites() throws IOException {
+        assertTrue(customerSearchIndex.isReady());
+        assertEquals(10, customerSearchIndex.suggest("customer 2", 10).size());
+        assertEquals(List.of("000000007V"), nicNumbers(customerSearchIndex.suggest("+94770000007", 10)));
+
+        Long renamed = customerRepository.findByNicNumber("000000004V").orElseThrow().getId();
+        transactionTemplate.executeWithoutResult(status ->
+            customerRepository.findById(renamed).orElseThrow().setName("Zed Renamed"));
+        assertEquals(List.of("000000004V"), nicNumbers(customerSearchIndex.suggest("zed", 10)));
+        assertEquals(List.of("000000004V"), values(get("/api/customers/search/suggest?q=Zed"), "nicNumber"));
+
+        customerService.deleteCustomer(customerRepository.findByNicNumber("000000006V").orElseThrow().getId());
+        assertEquals(0, customerSearchIndex.suggest("000000006v", 10).size());
+        assertEquals(0, customerSearchIndex.suggest("+94770000006", 10).size());
+
+        customerService.bulkCreateCustomers(CustomerWorkbooks.customers(200, 1, false));
+        assertEquals(List.of("000000200V"), nicNumbers(customerSearchIndex.suggest("000000200", 10)));
+    }
+
+    private JsonNode get(String url) throws IOException {
+        // Already encoded, so that + and % reach the server as written
+        return objectMapper.readTree(restTemplate.getForObject(URI.create(url), String.class));
+    }
+
+    private static List<String> values(JsonNode array, String field) {
+        List<String> values = new ArrayList<>();
+        array.forEach(node -> values.add(node.get(field).asText()));
+        return values;
+    }
+
+    private static List<String> nicNumbers(List<CustomerSuggestion> suggestions) {
+        return suggestions.stream().map(CustomerSuggestion::nicNumber).toList();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.customerapi.controller;
+
+import com.example.customerapi.service.CustomerService;
+import com.example.customerapi.support.CustomerWorkbooks;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:customer-stream;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+class CustomerStreamTest {
+
+    private static final int CUSTOMERS = 1_200;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private HikariDataSource dataSource;
+
+    @BeforeEach
+    void seed() throws IOException {
+        if (customerService.getTotalCustomerCount() == 0) {
+            customerService.bulkCreateCustomers(CustomerWorkbooks.customers(1, CUSTOMERS, false));
+        }
+    }
+
+    @Test
+    void streamsWholeTableInIdOrderWithoutBuffering() throws IOException {
+        ResponseEntity<String> response = restTemplate.getForEntity("/api/customers/list/stream", String.class);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_LENGTH), "response was buffered");
+        assertEquals("application/json", response.getHeaders().getContentType().toString());
+        JsonNode body = objectMapper.readTree(response.getBody());
+        assertEquals(CUSTOMERS, body.get("count").asInt());
+        assertEquals(CUSTOMERS, body.get("customers").size());
+        assertTrue(body.get("nextCursor").isNull());
+        long previousId = 0;
+        for (JsonNode customer : body.get("customers")) {
+            assertTrue(customer.get("id").asLong() > previousId);
+            previousId = customer.get("id").asLong();
+        }
+    }
+
+    @Test
+    void sizeLimitsThePageAndCursorContinuesIt() throws IOException {
+        JsonNode first = objectMapper.readTree(
+            restTemplate.getForObject("/api/customers/list/stream?size=700", String.class));
+        assertEquals(700, first.get("count").asInt());
+
+        JsonNode rest = objectMapper.readTree(restTemplate.getForObject(
+            "/api/customers/list/stream?size=700&cursor=" + first.get("nextCursor").asText(), String.class));
+
+        assertEquals(CUSTOMERS - 700, rest.get("count").asInt());
+        assertTrue(rest.get("nextCursor").isNull());
+        assertTrue(rest.get("customers").get(0).get("id").asLong()
+            > first.get("customers").get(699).get("id").asLong());
+    }
+
+    @Test
+    void templateDownloadIsStreamedWithoutBuffering() throws IOException {
+        ResponseEntity<byte[]> response = restTemplate.getForEntity("/api/customers/bulk/template", byte[].class);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_LENGTH), "response was buffered");
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(response.getBody()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals(CUSTOMERS, sheet.getLastRowNum());
+            assertEquals("000000001V", sheet.getRow(1).getCell(2).getStringCellValue());
+        }
+    }
+
+    @Test
+    void templateIsWrittenToTheClientWithoutATransactionOrConnection() {
+        ByteArrayOutputStream client = new ByteArrayOutputStream() {
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                assertFalse(TransactionSynchronizationManager.isActualTransactionActive(), "transaction open during write");
+                assertEquals(0, dataSource.getHikariPoolMXBean().getActiveConnections(), "connection held during write");
+                super.write(bytes, offset, length);
+            }
+        };
+
+        customerService.writeCustomerTemplate(client);
+
+        assertTrue(client.size() > 0);
+    }
+}
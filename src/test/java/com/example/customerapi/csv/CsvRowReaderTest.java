@@ -0,0 +1,120 @@
+package com.example.customerapi.csv;
+
+import com.example.customerapi.importer.RowHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvRowReaderTest {
+
+    private Path file;
+
+    @AfterEach
+    void deleteFile() throws IOException {
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void readsPlainRowsAndPadsMissingCells() throws IOException {
+        List<String[]> rows = read(4, "a,b,c,d\n1,2,3,4\n5,,7\n");
+
+        assertEquals(3, rows.size());
+        assertArrayEquals(new String[]{"1", "2", "3", "4"}, rows.get(1));
+        assertArrayEquals(new String[]{"5", "", "7", ""}, rows.get(2));
+    }
+
+    @Test
+    void handlesQuotedFieldsWithDelimitersQuotesAndLineBreaks() throws IOException {
+        List<String[]> rows = read(3, "h1,h2,h3\r\n\"Smith, John\",\"say \"\"hi\"\"\",\"line 1\r\nline 2\"\r\n");
+
+        assertEquals(2, rows.size());
+        assertArrayEquals(new String[]{"Smith, John", "say \"hi\"", "line 1\r\nline 2"}, rows.get(1));
+    }
+
+    @Test
+    void skipsByteOrderMarkBlankLinesAndExtraColumns() throws IOException {
+        List<Integer> rowNums = new ArrayList<>();
+        List<String[]> rows = new ArrayList<>();
+        write("﻿h1,h2\n\nx,y,z\n\nlast,row");
+        new CsvRowReader(2).read(file, (rowNum, cells) -> {
+            rowNums.add(rowNum);
+            rows.add(cells);
+        });
+
+        assertEquals(List.of(0, 2, 4), rowNums);
+        assertEquals("h1", rows.get(0)[0]);
+        assertArrayEquals(new String[]{"x", "y"}, rows.get(1));
+        assertArrayEquals(new String[]{"last", "row"}, rows.get(2));
+    }
+
+    @Test
+    void decodesUtf8() throws IOException {
+        List<String[]> rows = read(2, "name,city\nJosé Müller,Colombo කොළඹ\n");
+
+        assertArrayEquals(new String[]{"José Müller", "Colombo කොළඹ"}, rows.get(1));
+    }
+
+    @Test
+    void readsAcrossMappedWindowBoundaries() throws IOException {
+        StringBuilder csv = new StringBuilder("name,quoted\r\n");
+        for (int i = 1; i <= 1000; i++) {
+            csv.append("Customer ").append(i).append(",\"a, \"\"b\"\"\r\nc ").append(i).append("\"\r\n");
+        }
+        write(csv.toString());
+        List<String[]> rows = new ArrayList<>();
+        // Windows of 7 bytes split quotes, escaped quotes and CRLF pairs in every possible place
+        new CsvRowReader(2, 7).read(file, (rowNum, cells) -> rows.add(cells));
+
+        assertEquals(1001, rows.size());
+        assertArrayEquals(new String[]{"Customer 500", "a, \"b\"\r\nc 500"}, rows.get(500));
+    }
+
+    @Test
+    void reportsExpectedRows() throws IOException {
+        int[] expected = {-1};
+        write("h\n1\n2\n3");
+        new CsvRowReader(1).read(file, new RowHandler() {
+            @Override
+            public void handleRow(int rowNum, String[] cells) {
+            }
+
+            @Override
+            public void expectedRows(int dataRows) {
+                expected[0] = dataRows;
+            }
+        });
+
+        assertEquals(3, expected[0]);
+    }
+
+    @Test
+    void rejectsUnterminatedQuote() throws IOException {
+        write("h\n\"never closed\n");
+
+        assertThrows(IOException.class, () -> new CsvRowReader(1).read(file, (rowNum, cells) -> { }));
+    }
+
+    private List<String[]> read(int columns, String content) throws IOException {
+        write(content);
+        List<String[]> rows = new ArrayList<>();
+        new CsvRowReader(columns).read(file, (rowNum, cells) -> rows.add(cells));
+        return rows;
+    }
+
+    private void write(String content) throws IOException {
+        file = Files.createTempFile("csv-reader-test-", ".csv");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.customerapi.excel;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamingSheetReaderTest {
+
+    private static final int ROWS = 20_000;
+    private static final int COLUMNS = 12;
+
+    private static Path workbook;
+
+    @BeforeAll
+    static void writeWorkbook() throws IOException {
+        workbook = Files.createTempFile("streaming-reader-test-", ".xlsx");
+        try (SXSSFWorkbook wb = new SXSSFWorkbook(100); OutputStream out = Files.newOutputStream(workbook)) {
+            Sheet sheet = wb.createSheet("Customers");
+            Row header = sheet.createRow(0);
+            for (int c = 0; c < COLUMNS; c++) {
+                header.createCell(c).setCellValue("Column " + c);
+            }
+            for (int r = 1; r <= ROWS; r++) {
+                Row row = sheet.createRow(r);
+                row.createCell(0).setCellValue("Customer " + r);
+                row.createCell(1).setCellValue("1990-01-01");
+                row.createCell(2).setCellValue(String.format("%09dV", r));
+                row.createCell(3).setCellValue(94770000000L + r);
+                for (int c = 4; c < COLUMNS; c++) {
+                    row.createCell(c).setCellValue("value " + r + "-" + c);
+                }
+            }
+            wb.write(out);
+            wb.dispose();
+        }
+    }
+
+    @AfterAll
+    static void deleteWorkbook() throws IOException {
+        Files.deleteIfExists(workbook);
+    }
+
+    @Test
+    void readsEveryRowWithCellValues() throws IOException {
+        AtomicInteger rows = new AtomicInteger();
+        new StreamingSheetReader(COLUMNS).read(workbook.toFile(), (rowNum, cells) -> {
+            if (rowNum == 0) return;
+            rows.incrementAndGet();
+            if (rowNum == 42) {
+                assertEquals("Customer 42", cells[0]);
+                assertEquals("1990-01-01", cells[1]);
+                assertEquals("000000042V", cells[2]);
+                assertEquals("94770000042", cells[3]);
+                assertEquals("value 42-11", cells[11]);
+            }
+        });
+        assertEquals(ROWS, rows.get());
+    }
+
+    @Test
+    void peakHeapStaysWellBelowWorkbookModel() throws IOException {
+        File file = workbook.toFile();
+
+        long modelRetained;
+        long modelBaseline = usedHeapAfterGc();
+        try (InputStream in = Files.newInputStream(workbook); XSSFWorkbook model = new XSSFWorkbook(in)) {
+            modelRetained = usedHeapAfterGc() - modelBaseline;
+            Reference.reachabilityFence(model);
+        }
+
+        long baseline = usedHeapAfterGc();
+        AtomicLong streamingPeak = new AtomicLong();
+        new StreamingSheetReader(COLUMNS).read(file, (rowNum, cells) -> {
+            if (rowNum % 5_000 == 0) {
+                streamingPeak.accumulateAndGet(usedHeapAfterGc() - baseline, Math::max);
+            }
+        });
+
+        System.out.printf("Retained heap for %d rows: XSSFWorkbook %d KB, streaming reader %d KB%n",
+            ROWS, modelRetained / 1024, streamingPeak.get() / 1024);
+        assertTrue(streamingPeak.get() * 5 < modelRetained,
+            "streaming reader retained " + streamingPeak.get() + " bytes, workbook model " + modelRetained);
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.customerapi.export;
+
+import com.example.customerapi.csv.CsvRowReader;
+import com.example.customerapi.dto.CustomerExport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvCustomerWriterTest {
+
+    private Path file;
+
+    @AfterEach
+    void deleteFile() throws IOException {
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void separatorsInsideValuesSurviveARoundTrip() throws IOException {
+        CustomerExport customer = new CustomerExport(7L, "Perera; \"Jr\", Sunil", LocalDate.of(1990, 1, 1),
+            "000000007V",
+            List.of("+94770000007", "ext|12"),
+            List.of(
+                new CustomerExport.Address("No. 5; Lane 2", "Flat A|B", "Colombo \\ 7", "Sri Lanka"),
+                new CustomerExport.Address("1 Main Street", null, "Kandy", "Sri Lanka")),
+            List.of("000000007X", "000000008X"));
+
+        String[] row = writeAndReadBack(customer);
+
+        assertEquals("7", row[0]);
+        assertEquals(customer.name(), row[1]);
+        assertEquals("1990-01-01", row[2]);
+        assertEquals("000000007V", row[3]);
+        assertEquals(customer.mobileNumbers(), values(row[4], '|'));
+        List<String> addresses = split(row[5], '|');
+        assertEquals(2, addresses.size());
+        assertEquals(List.of("No. 5; Lane 2", "Flat A|B", "Colombo \\ 7", "Sri Lanka"), values(addresses.get(0), ';'));
+        assertEquals(List.of("1 Main Street", "", "Kandy", "Sri Lanka"), values(addresses.get(1), ';'));
+        assertEquals(customer.familyMemberNicNumbers(), values(row[6], '|'));
+    }
+
+    private String[] writeAndReadBack(CustomerExport customer) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvCustomerWriter writer = new CsvCustomerWriter(out);
+        writer.write(customer);
+        writer.finish();
+
+        file = Files.createTempFile("csv-customer-writer-", ".csv");
+        Files.write(file, out.toByteArray());
+        List<String[]> rows = new ArrayList<>();
+        new CsvRowReader(7).read(file, (rowNum, cells) -> rows.add(cells));
+        assertEquals(CsvCustomerWriter.HEADER, String.join(",", rows.get(0)));
+        assertEquals(2, rows.size());
+        return rows.get(1);
+    }
+
+    private static List<String> values(String cell, char separator) {
+        return split(cell, separator).stream().map(CsvCustomerWriterTest::unescape).toList();
+    }
+
+    /**
+     * Splits on separators not preceded by a backslash. Escapes are kept so that an address can
+     * be split again into its parts.
+     */
+    private static List<String> split(String cell, char separator) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < cell.length(); i++) {
+            char c = cell.charAt(i);
+            if (c == '\\' && i + 1 < cell.length()) {
+                value.append(c).append(cell.charAt(++i));
+            } else if (c == separator) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private static String unescape(String value) {
+        return value.replaceAll("\\\\(.)", "$1");
+    }
+}
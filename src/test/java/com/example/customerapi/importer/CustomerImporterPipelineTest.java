@@ -0,0 +1,215 @@
+package com.example.customerapi.importer;
+
+import com.example.customerapi.entity.Customer;
+import com.example.customerapi.repository.CustomerRepository;
+import com.example.customerapi.service.MobileNumberService;
+import com.example.customerapi.service.NicNumberService;
+import com.example.customerapi.service.ReferenceDataService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Feeds rows straight into the pipeline (no xlsx decoding) to check ordering and error
+ * reporting, and prints rows/sec for different worker counts.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:import-pipeline;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+class CustomerImporterPipelineTest {
+
+    private static final int BENCHMARK_ROWS = 10_000;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ReferenceDataService referenceDataService;
+
+    @Autowired
+    private NicNumberService nicNumberService;
+
+    @Autowired
+    private MobileNumberService mobileNumberService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Test
+    void keepsFileOrderAcrossChunksAndReportsFailedRows() throws IOException {
+        CustomerImporter importer = importer(4);
+        List<String[]> rows = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            rows.add(row(900_000 + i));
+        }
+        rows.set(1800, row(900_005));                   // duplicate of an earlier chunk
+        rows.get(2100)[1] = "not-a-date";
+        rows.get(2200)[3] = rows.get(10)[3];              // mobile number of an earlier chunk
+
+        RecordingListener listener = new RecordingListener();
+        try {
+            importer.importRows(source(rows), listener);
+        } finally {
+            importer.destroy();
+        }
+
+        assertEquals(2497, listener.created);
+        assertEquals(2500, listener.rowsProcessed);
+        assertEquals(List.of(1801, 2101, 2201), List.copyOf(listener.failures.keySet()));
+        assertEquals("Duplicate NIC number 000900005V in file", listener.failures.get(1801));
+        assertEquals("Duplicate mobile number +94770900010 in file", listener.failures.get(2201));
+    }
+
+    @Test
+    void rowsWithRegisteredMobileNumbersAreDroppedNotTheBatch() throws IOException {
+        List<String[]> existing = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            existing.add(row(950_000 + i));
+        }
+        List<String[]> rows = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            rows.add(row(960_000 + i));
+        }
+        rows.get(3)[3] = existing.get(1)[3];
+
+        CustomerImporter importer = importer(2);
+        RecordingListener listener = new RecordingListener();
+        try {
+            importer.importRows(source(existing), new RecordingListener());
+            importer.importRows(source(rows), listener);
+        } finally {
+            importer.destroy();
+        }
+
+        assertEquals(9, listener.created);
+        assertEquals(Map.of(4, "Mobile number +94770950001 is already registered to another customer"), listener.failures);
+    }
+
+    @Test
+    void rejectedRowsDoNotHoldTheirNumbers() throws IOException {
+        List<String[]> existing = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            existing.add(row(970_000 + i));
+        }
+        List<String[]> rows = new ArrayList<>();
+        rows.add(row(980_000));
+        rows.add(row(980_001));
+        rows.get(1)[3] = rows.get(0)[3];                  // duplicate mobile number in the file
+        rows.add(row(980_001));                           // same NIC number as the rejected row
+        rows.add(row(980_003));
+        rows.get(3)[3] = existing.get(0)[3];              // mobile number already registered
+        rows.add(row(980_003));
+        rows.add(row(980_005));
+        rows.get(5)[9] = "Relative";                      // family member already registered
+        rows.get(5)[10] = "1960-01-01";
+        rows.get(5)[11] = existing.get(1)[2];
+        rows.add(row(980_006));
+        rows.get(6)[3] = rows.get(5)[3];                  // same mobile number as the rejected row
+
+        CustomerImporter importer = importer(2);
+        RecordingListener listener = new RecordingListener();
+        try {
+            importer.importRows(source(existing), new RecordingListener());
+            importer.importRows(source(rows), listener);
+        } finally {
+            importer.destroy();
+        }
+
+        assertEquals(4, listener.created);
+        assertEquals(Map.of(
+            2, "Duplicate mobile number +94770980000 in file",
+            4, "Mobile number +94770970000 is already registered to another customer",
+            6, "Family member with NIC number 000970001V already exists"), listener.failures);
+    }
+
+    @Test
+    void throughputByWorkerCount() throws IOException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int firstIndex = 1;
+        for (int workers : IntStream.of(1, cores).distinct().toArray()) {
+            List<String[]> rows = new ArrayList<>();
+            for (int i = 0; i < BENCHMARK_ROWS; i++) {
+                rows.add(row(firstIndex + i));
+            }
+            firstIndex += BENCHMARK_ROWS;
+
+            CustomerImporter importer = importer(workers);
+            RecordingListener listener = new RecordingListener();
+            long start = System.nanoTime();
+            try {
+                importer.importRows(source(rows), listener);
+            } finally {
+                importer.destroy();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("%2d worker(s): %,d rows in %.2f s, %,.0f rows/sec%n",
+                workers, BENCHMARK_ROWS, seconds, BENCHMARK_ROWS / seconds);
+            assertEquals(BENCHMARK_ROWS, listener.created);
+        }
+    }
+
+    private CustomerImporter importer(int workers) {
+        CustomerImporter importer = new CustomerImporter(customerRepository, referenceDataService,
+            nicNumberService, mobileNumberService, transactionManager, new ImportMetrics(new SimpleMeterRegistry()), workers, 4);
+        beanFactory.autowireBean(importer);
+        return importer;
+    }
+
+    private static RowSource source(List<String[]> rows) {
+        return handler -> {
+            handler.expectedRows(rows.size());
+            handler.handleRow(0, new String[] {"Name"});
+            for (int i = 0; i < rows.size(); i++) {
+                handler.handleRow(i + 1, rows.get(i));
+            }
+        };
+    }
+
+    private static String[] row(int n) {
+        return new String[] {
+            "Customer " + n, "1990-01-01", String.format("%09dV", n), String.format("+9477%07d", n),
+            n + " Main Street", "", "London", "United Kingdom", "UK", "", "", ""
+        };
+    }
+
+    private static class RecordingListener implements ImportListener {
+        final Map<Integer, String> failures = new TreeMap<>();
+        int rowsProcessed;
+        int created;
+
+        @Override
+        public void rowFailed(int rowNum, String message) {
+            failures.put(rowNum, message);
+        }
+
+        @Override
+        public void batchSaved(int rowsProcessed, List<Customer> created) {
+            this.rowsProcessed = rowsProcessed;
+            this.created += created.size();
+        }
+
+        @Override
+        public void batchFailed(List<Integer> rowNums, RuntimeException exception) {
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.example.customerapi.load;
+
+import com.example.customerapi.service.CustomerService;
+import com.example.customerapi.sql.SqlStatementBudgetFilter;
+import com.example.customerapi.support.CustomerWorkbooks;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Macro benchmark: seeds customers, then drives create, list, view, update and bulk create
+ * concurrently over HTTP and writes latency percentiles, throughput and SQL statements per
+ * request (from the {@link SqlStatementBudgetFilter} response header) for every operation to a
+ * JSON report.
+ *
+ * Opt-in, as it runs for a while:
+ * <pre>
+ * mvn test -Dtest=CustomerApiLoadTest -Dloadtest=true \
+ *     -Dloadtest.customers=5000 -Dloadtest.threads=8 -Dloadtest.duration-seconds=30
+ * </pre>
+ * Runs on in-memory H2 by default. Set {@code loadtest.db.url} (plus {@code loadtest.db.username}
+ * and {@code loadtest.db.password}) to use a local MariaDB instead; the schema is dropped and
+ * recreated, so point it at a scratch database. The report goes to
+ * {@code target/load-test-report.json} unless {@code loadtest.report} says otherwise.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.jpa.show-sql=false",
+    "customerapi.sql-budget.response-headers=true",
+    "customerapi.sql-budget.max-statements=1000000"
+})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class CustomerApiLoadTest {
+
+    private static final int CUSTOMERS = Integer.getInteger("loadtest.customers", 5000);
+    private static final int THREADS = Integer.getInteger("loadtest.threads", 8);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration-seconds", 30);
+    private static final int BULK_ROWS = Integer.getInteger("loadtest.bulk-rows", 50);
+    private static final String REPORT = System.getProperty("loadtest.report", "target/load-test-report.json");
+    private static final String DB_URL = System.getProperty("loadtest.db.url",
+        "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+
+    /** Relative weights of the operations in the request mix. */
+    private static final Map<String, Integer> MIX = Map.of(
+        "list", 30, "view", 40, "update", 15, "create", 10, "bulk", 5);
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> DB_URL);
+        if (DB_URL.startsWith("jdbc:mariadb:")) {
+            registry.add("spring.datasource.driverClassName", () -> "org.mariadb.jdbc.Driver");
+            registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MariaDBDialect");
+            registry.add("spring.datasource.username", () -> System.getProperty("loadtest.db.username", "root"));
+            registry.add("spring.datasource.password", () -> System.getProperty("loadtest.db.password", "root"));
+        }
+    }
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AtomicInteger nextIndex = new AtomicInteger(5_000_000);
+    private final Map<String, OperationStats> stats = new ConcurrentHashMap<>();
+    private List<Target> targets;
+    private List<String> operations;
+
+    @Test
+    void mixedWorkload() throws Exception {
+        seed();
+
+        ExecutorService clients = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+        for (int i = 0; i < THREADS; i++) {
+            clients.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    runOne(operations.get(ThreadLocalRandom.current().nextInt(operations.size())));
+                }
+            });
+        }
+        clients.shutdown();
+        assertTrue(clients.awaitTermination(DURATION_SECONDS + 300L, TimeUnit.SECONDS));
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Map<String, Object> report = report(elapsedSeconds);
+        Path reportFile = Path.of(REPORT);
+        Files.createDirectories(reportFile.toAbsolutePath().getParent());
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile.toFile(), report);
+        System.out.println(objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(report));
+
+        stats.forEach((operation, s) ->
+            assertTrue(s.errors.sum() < s.latencies.size(), operation + " failed on every request"));
+    }
+
+    private void seed() throws IOException {
+        customerService.bulkCreateCustomers(CustomerWorkbooks.customers(1, CUSTOMERS, true));
+        // Customers that have a mobile number are the seeded ones, not their family members
+        targets = jdbcTemplate.query(
+            "SELECT c.id, c.nic_number FROM customers c JOIN mobile_numbers m ON m.customer_id = c.id",
+            (rs, rowNum) -> new Target(rs.getLong(1), rs.getString(2)));
+        operations = new ArrayList<>();
+        MIX.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                operations.add(operation);
+            }
+        });
+    }
+
+    private void runOne(String operation) {
+        HttpEntity<?> request;
+        String url;
+        HttpMethod method;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Target target = targets.get(random.nextInt(targets.size()));
+        switch (operation) {
+            case "list" -> {
+                int pages = Math.max(1, targets.size() / 100);
+                url = "/api/customers/list?size=100&page=" + random.nextInt(pages);
+                method = HttpMethod.GET;
+                request = new HttpEntity<>(headers(null));
+            }
+            case "view" -> {
+                url = "/api/customers/view/" + target.id();
+                method = HttpMethod.GET;
+                request = new HttpEntity<>(headers(null));
+            }
+            case "update" -> {
+                url = "/api/customers/update/" + target.id();
+                method = HttpMethod.PUT;
+                request = new HttpEntity<>(customerJson("Updated " + random.nextInt(1000), target.nicNumber(), null),
+                    headers(MediaType.APPLICATION_JSON));
+            }
+            case "create" -> {
+                int n = nextIndex.getAndIncrement();
+                url = "/api/customers/create";
+                method = HttpMethod.POST;
+                request = new HttpEntity<>(customerJson("Customer " + n, String.format("%09dV", n), String.format("+9477%07d", n)),
+                    headers(MediaType.APPLICATION_JSON));
+            }
+            case "bulk" -> {
+                url = "/api/customers/bulk/create";
+                method = HttpMethod.POST;
+                request = new HttpEntity<>(workbook(), headers(MediaType.MULTIPART_FORM_DATA));
+            }
+            default -> throw new IllegalArgumentException(operation);
+        }
+
+        OperationStats operationStats = stats.computeIfAbsent(operation, key -> new OperationStats());
+        long start = System.nanoTime();
+        boolean ok;
+        try {
+            ResponseEntity<byte[]> response = restTemplate.exchange(url, method, request, byte[].class);
+            ok = response.getStatusCode().is2xxSuccessful();
+            String statements = response.getHeaders().getFirst(SqlStatementBudgetFilter.STATEMENTS_HEADER);
+            if (statements != null) {
+                operationStats.statements.add(Long.parseLong(statements));
+            }
+        } catch (RuntimeException e) {
+            ok = false;
+        }
+        operationStats.latencies.add(System.nanoTime() - start);
+        if (!ok) {
+            operationStats.errors.increment();
+        }
+    }
+
+    private static HttpHeaders headers(MediaType contentType) {
+        HttpHeaders headers = new HttpHeaders();
+        if (contentType != null) {
+            headers.setContentType(contentType);
+        }
+        return headers;
+    }
+
+    private static String customerJson(String name, String nicNumber, String mobileNumber) {
+        String mobiles = mobileNumber == null ? "" : "\"mobileNumbers\":[{\"number\":\"" + mobileNumber + "\"}],";
+        return "{\"name\":\"" + name + "\",\"dateOfBirth\":\"1985-06-15\",\"nicNumber\":\"" + nicNumber + "\","
+            + mobiles
+            + "\"addresses\":[{\"addressLine1\":\"1 Load Street\",\"addressLine2\":\"\","
+            + "\"city\":{\"name\":\"London\",\"country\":{\"name\":\"United Kingdom\",\"code\":\"UK\"}}}]}";
+    }
+
+    private MultiValueMap<String, Object> workbook() {
+        try {
+            MockMultipartFile file = CustomerWorkbooks.customers(nextIndex.getAndAdd(BULK_ROWS), BULK_ROWS, false);
+            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+            body.add("file", new ByteArrayResource(file.getBytes()) {
+                @Override
+                public String getFilename() {
+                    return file.getOriginalFilename();
+                }
+            });
+            return body;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Map<String, Object> report(double elapsedSeconds) {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("database", DB_URL);
+        config.put("seededCustomers", CUSTOMERS);
+        config.put("threads", THREADS);
+        config.put("durationSeconds", elapsedSeconds);
+        config.put("bulkRows", BULK_ROWS);
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        stats.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+            long[] latencies = entry.getValue().latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(latencies);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("requests", latencies.length);
+            result.put("errors", entry.getValue().errors.sum());
+            result.put("throughputPerSecond", latencies.length / elapsedSeconds);
+            result.put("p50Ms", percentile(latencies, 50));
+            result.put("p95Ms", percentile(latencies, 95));
+            result.put("p99Ms", percentile(latencies, 99));
+            result.put("maxMs", latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6);
+            result.put("sqlStatementsPerRequest",
+                latencies.length == 0 ? 0 : (double) entry.getValue().statements.sum() / latencies.length);
+            results.put(entry.getKey(), result);
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config);
+        report.put("operations", results);
+        return report;
+    }
+
+    private static double percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private record Target(long id, String nicNumber) {
+    }
+
+    private static class OperationStats {
+        final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        final LongAdder errors = new LongAdder();
+        final LongAdder statements = new LongAdder();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.customerapi.service;
+
+import com.example.customerapi.entity.Customer;
+import com.example.customerapi.support.CustomerWorkbooks;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the JDBC statements Hibernate prepares to import 1,000 customers, each with one mobile
+ * number and one address. With per-row IDENTITY inserts this is at least three statements per
+ * customer; with pooled sequence ids and JDBC batching the inserts go out 50 rows at a time.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:import-benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+class BulkImportStatementBenchmarkTest {
+
+    private static final int CUSTOMERS = 1000;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void importsThousandCustomersWithBatchedInserts() throws IOException {
+        MockMultipartFile file = CustomerWorkbooks.customers(1, CUSTOMERS, false);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long start = System.nanoTime();
+        List<Customer> created = customerService.bulkCreateCustomers(file);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        long statements = statistics.getPrepareStatementCount();
+        System.out.printf("Imported %d customers in %d ms: %d statements prepared, %d entities inserted%n",
+            created.size(), elapsedMillis, statements, statistics.getEntityInsertCount());
+
+        assertEquals(CUSTOMERS, created.size());
+        assertEquals(3L * CUSTOMERS, statistics.getEntityInsertCount());
+        assertTrue(statements < 2L * CUSTOMERS, "expected batched inserts, got " + statements + " statements");
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.customerapi.service;
+
+import com.example.customerapi.entity.Customer;
+import com.example.customerapi.repository.CustomerRepository;
+import com.example.customerapi.support.CustomerWorkbooks;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Imports the same customers once from xlsx and once from CSV and compares what was stored and
+ * how fast each path got there.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:csv-import;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+class CsvBulkImportTest {
+
+    private static final int CUSTOMERS = 2_000;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void csvImportStoresTheSameCustomersAsXlsx() throws IOException {
+        // Warm up both paths so neither pays for class loading and JIT alone
+        customerService.bulkCreateCustomers(CustomerWorkbooks.customers(900_001, 500, true));
+        customerService.bulkCreateCustomersFromCsv(CustomerWorkbooks.customersCsv(910_001, 500, true));
+
+        double xlsxRate = rowsPerSecond(CustomerWorkbooks.customers(1, CUSTOMERS, true), customerService::bulkCreateCustomers);
+        double csvRate = rowsPerSecond(CustomerWorkbooks.customersCsv(100_001, CUSTOMERS, true), customerService::bulkCreateCustomersFromCsv);
+        System.out.printf("%d customers with family members: xlsx %.0f rows/s, csv %.0f rows/s%n", CUSTOMERS, xlsxRate, csvRate);
+
+        assertEquals("Customer 42|1990-01-01|000000042V|+94770000042|42 Main Street|London|UK|000000042X",
+            describe("000000042V"));
+        assertEquals("Customer 100042|1990-01-01|000100042V|+94770100042|100042 Main Street|London|UK|000100042X",
+            describe("000100042V"));
+    }
+
+    private double rowsPerSecond(MockMultipartFile file, Function<MockMultipartFile, List<Customer>> importer) {
+        long start = System.nanoTime();
+        List<Customer> created = importer.apply(file);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        assertEquals(CUSTOMERS, created.size());
+        return CUSTOMERS / seconds;
+    }
+
+    private String describe(String nicNumber) {
+        return transactionTemplate.execute(status -> {
+            Customer customer = customerRepository.findByNicNumber(nicNumber).orElseThrow();
+            return String.join("|",
+                customer.getName(),
+                customer.getDateOfBirth().toString(),
+                customer.getNicNumber(),
+                customer.getMobileNumbers().get(0).getNumber(),
+                customer.getAddresses().get(0).getAddressLine1(),
+                customer.getAddresses().get(0).getCity().getName(),
+                customer.getAddresses().get(0).getCity().getCountry().getCode(),
+                customer.getFamilyMembers().get(0).getNicNumber());
+        });
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.customerapi.service;
+
+import com.example.customerapi.dto.BulkUpdateReport;
+import com.example.customerapi.repository.CustomerRepository;
+import com.example.customerapi.support.CustomerWorkbooks;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:bulk-update;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+class CustomerBulkUpdateTest {
+
+    private static final int CUSTOMERS = 2_000;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void seed() throws IOException {
+        if (customerRepository.count() == 0) {
+            customerService.bulkCreateCustomers(CustomerWorkbooks.customers(1, CUSTOMERS, false));
+        }
+    }
+
+    @Test
+    void onlyChangedRowsAreWrittenAndProblemsAreReportedPerRow() {
+        StringBuilder csv = new StringBuilder("Name,Date of Birth,NIC Number\n");
+        for (int i = 1; i <= CUSTOMERS; i++) {
+            String name = i % 10 == 0 ? "Renamed " + i : "Customer " + i;
+            csv.append(name).append(",1990-01-01,").append(String.format("%09dV", i)).append('\n');
+        }
+        csv.append("Nobody,1990-01-01,999999999V\n");
+        csv.append("Customer 1,not-a-date,000000001V\n");
+        MockMultipartFile file = new MockMultipartFile("file", "update.csv", "text/csv",
+            csv.toString().getBytes(StandardCharsets.UTF_8));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        BulkUpdateReport report = customerService.bulkUpdateCustomers(file);
+
+        assertEquals(CUSTOMERS + 2, report.rowsProcessed());
+        assertEquals(CUSTOMERS / 10, report.rowsUpdated());
+        assertEquals(CUSTOMERS - CUSTOMERS / 10, report.rowsUnchanged());
+        assertEquals(2, report.rowsFailed());
+        Map<Integer, BulkUpdateReport.RowResult> rows = report.rows().stream()
+            .collect(Collectors.toMap(BulkUpdateReport.RowResult::row, Function.identity()));
+        assertEquals("UPDATED", rows.get(10).status());
+        assertEquals("NOT_FOUND", rows.get(CUSTOMERS + 1).status());
+        assertEquals("INVALID", rows.get(CUSTOMERS + 2).status());
+
+        assertEquals(CUSTOMERS / 10, statistics.getEntityUpdateCount());
+        // One IN query per chunk of 1000 plus batched UPDATEs, instead of a SELECT and UPDATE per row
+        assertTrue(statistics.getPrepareStatementCount() < 20,
+            "expected set-based update, got " + statistics.getPrepareStatementCount() + " statements");
+        assertEquals("Renamed 20", customerRepository.findByNicNumber("000000020V").orElseThrow().getName());
+    }
+
+    @Test
+    void reuploadedWorkbookChangesNothing() throws IOException {
+        BulkUpdateReport report = customerService.bulkUpdateCustomers(CustomerWorkbooks.customers(1, 50, false));
+
+        assertEquals(50, report.rowsProcessed());
+        assertEquals(50, report.rowsUnchanged() + report.rowsUpdated());
+        assertEquals(0, report.rowsFailed());
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.customerapi.service;
+
+import com.example.customerapi.repository.CustomerRepository;
+import com.example.customerapi.support.CustomerWorkbooks;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:customer-count;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+class CustomerCountServiceTest {
+
+    @Autowired
+    private CustomerCountService customerCountService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void countFollowsImportsDeletesAndDirectWrites() throws IOException {
+        long before = customerCountService.reconcile();
+
+        // 10 customers plus one family member each
+        customerService.bulkCreateCustomers(CustomerWorkbooks.customers(1, 10, true));
+        assertEquals(before + 20, customerCountService.getCount());
+
+        Long id = customerRepository.findByNicNumber("000000001V").orElseThrow().getId();
+        customerService.deleteCustomer(id);
+        assertEquals(before + 19, customerCountService.getCount());
+        assertEquals(customerRepository.count(), customerCountService.getCount());
+
+        jdbcTemplate.update("INSERT INTO customers (id, name, date_of_birth, nic_number, created_at, updated_at) " +
+            "VALUES (900000001, 'Direct', DATE '1990-01-01', 'DIRECT001V', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+        assertEquals(before + 19, customerCountService.getCount());
+
+        assertEquals(before + 20, customerCountService.reconcile());
+        assertEquals(before + 20, customerCountService.getCount());
+    }
+
+    @Test
+    void listTotalModes() throws IOException {
+        if (customerService.getTotalCustomerCount() < 5) {
+            customerService.bulkCreateCustomers(CustomerWorkbooks.customers(101, 5, false));
+        }
+        long exact = customerService.getTotalCustomerCount();
+
+        JsonNode cached = list("/api/customers/list?size=2");
+        assertEquals(exact, cached.get("totalCount").asLong());
+        assertTrue(cached.get("hasNext").asBoolean());
+
+        JsonNode counted = list("/api/customers/list?size=2&total=exact");
+        assertEquals(exact, counted.get("totalCount").asLong());
+
+        JsonNode none = list("/api/customers/list?size=2&total=none");
+        assertFalse(none.has("totalCount"));
+        assertFalse(none.has("totalPages"));
+        assertEquals(2, none.get("customers").size());
+        assertTrue(none.get("hasNext").asBoolean());
+
+        JsonNode cursorPage = list("/api/customers/list?size=2&total=none&cursor=");
+        assertFalse(cursorPage.has("totalCount"));
+        assertTrue(cursorPage.get("hasNext").asBoolean());
+
+        assertEquals(400, restTemplate.getForEntity("/api/customers/list?total=some", String.class).getStatusCode().value());
+    }
+
+    private JsonNode list(String url) throws IOException {
+        return objectMapper.readTree(restTemplate.getForObject(url, String.class));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.customerapi.service;
+
+import com.example.customerapi.dto.ImportJobStatus;
+import com.example.customerapi.repository.CustomerRepository;
+import com.example.customerapi.support.CustomerWorkbooks;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:import-jobs;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+class CustomerImportServiceTest {
+
+    @Autowired
+    private CustomerImportService customerImportService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void importRunsInBackgroundAndReportsProgress() throws Exception {
+        long before = customerRepository.count();
+        ImportJobStatus submitted = customerImportService.submitImport(CustomerWorkbooks.customers(1, 2500, false));
+        assertNotNull(submitted.jobId());
+
+        ImportJobStatus status = awaitCompletion(submitted.jobId());
+
+        assertEquals("COMPLETED", status.status());
+        assertEquals(2500, status.rowsProcessed());
+        assertEquals(2500, status.rowsCreated());
+        assertEquals(0, status.rowsFailed());
+        assertEquals(2500L, status.expectedRows());
+        assertTrue(status.rowsPerSecond() > 0);
+        assertEquals(before + 2500, customerRepository.count());
+    }
+
+    @Test
+    void duplicateRowsAreReportedWithoutFailingTheJob() throws Exception {
+        ImportJobStatus first = awaitCompletion(
+            customerImportService.submitImport(CustomerWorkbooks.customers(10_001, 10, false)).jobId());
+        ImportJobStatus second = awaitCompletion(
+            customerImportService.submitImport(CustomerWorkbooks.customers(10_001, 10, true)).jobId());
+
+        assertEquals(10, first.rowsCreated());
+        assertEquals("COMPLETED", second.status());
+        assertEquals(0, second.rowsCreated());
+    }
+
+    @Test
+    void csvUploadsAreImportedToo() throws Exception {
+        ImportJobStatus status = awaitCompletion(
+            customerImportService.submitImport(CustomerWorkbooks.customersCsv(20_001, 300, false)).jobId());
+
+        assertEquals("COMPLETED", status.status());
+        assertEquals(300, status.rowsCreated());
+        assertEquals(300L, status.expectedRows());
+        assertTrue(customerRepository.findByNicNumber("000020300V").isPresent());
+    }
+
+    private ImportJobStatus awaitCompletion(String jobId) throws InterruptedException {
+        for (int i = 0; i < 600; i++) {
+            ImportJobStatus status = customerImportService.getJobStatus(jobId).orElseThrow();
+            if (status.finishedAt() != null) {
+                return status;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Import job " + jobId + " did not finish");
+    }
+}
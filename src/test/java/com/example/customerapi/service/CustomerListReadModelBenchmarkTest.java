@@ -0,0 +1,87 @@
+package com.example.customerapi.service;
+
+import com.example.customerapi.support.CustomerWorkbooks;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares loading and serializing a 1000-customer list page through managed entities
+ * ({@code getAllCustomersPaginated}) with the flat projection read model ({@code getCustomerViews}).
+ * Both run inside a read-only transaction, as they would under open-session-in-view.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:list-benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+class CustomerListReadModelBenchmarkTest {
+
+    private static final int PAGE_SIZE = 1000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void projectionPageAllocatesLessThanEntityPage() throws IOException {
+        customerService.bulkCreateCustomers(CustomerWorkbooks.customers(1, PAGE_SIZE / 2, true));
+        transactionTemplate.setReadOnly(true);
+
+        Result entities = measure(() -> customerService.getAllCustomersPaginated(0, PAGE_SIZE));
+        Result views = measure(() -> customerService.getCustomerViews(0, PAGE_SIZE));
+
+        System.out.printf("1000-row page, entities:    %6d KB allocated, %5.1f ms%n", entities.bytes / 1024, entities.millis);
+        System.out.printf("1000-row page, projections: %6d KB allocated, %5.1f ms%n", views.bytes / 1024, views.millis);
+
+        assertEquals(PAGE_SIZE, customerService.getCustomerViews(0, PAGE_SIZE).size());
+        assertTrue(views.bytes < entities.bytes,
+            "projection page allocated " + views.bytes + " bytes, entity page " + entities.bytes);
+    }
+
+    private Result measure(Supplier<Object> page) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            loadAndSerialize(page);
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long bytesBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            loadAndSerialize(page);
+        }
+        long elapsed = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(thread) - bytesBefore;
+        return new Result(bytes / MEASURED_ROUNDS, elapsed / 1_000_000.0 / MEASURED_ROUNDS);
+    }
+
+    private void loadAndSerialize(Supplier<Object> page) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                objectMapper.writeValueAsBytes(page.get());
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private record Result(long bytes, double millis) {
+    }
+}
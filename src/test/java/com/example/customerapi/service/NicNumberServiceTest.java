@@ -0,0 +1,70 @@
+package com.example.customerapi.service;
+
+import com.example.customerapi.service.impl.NicNumberServiceImpl;
+import com.example.customerapi.support.CustomerWorkbooks;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:nic-filter;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false",
+    "customerapi.nic-filter.enabled=true",
+    "customerapi.nic-filter.expected-insertions=1000"
+})
+@ActiveProfiles("test")
+class NicNumberServiceTest {
+
+    @Autowired
+    private NicNumberServiceImpl nicNumberService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void filterKnowsWarmedUpAndRegisteredNumbersOnly() throws IOException {
+        insert(900000001, "WARMUP001V");
+        nicNumberService.warmUp();
+        assertEquals(Set.of("WARMUP001V"), nicNumberService.findExisting(List.of("WARMUP001V", "UNKNOWN01V")));
+
+        // Imports register every customer and family member they create
+        customerService.bulkCreateCustomers(CustomerWorkbooks.customers(1, 3, true));
+        assertEquals(Set.of("000000001V", "000000003X"),
+            nicNumberService.findExisting(List.of("000000001V", "000000003X", "000000004V")));
+
+        // Written behind the filter's back (SQL, another instance): not seen until the next warm-up,
+        // which is why the filter is off by default
+        insert(900000002, "DIRECT001V");
+        assertEquals(Set.of(), nicNumberService.findExisting(List.of("DIRECT001V")));
+        nicNumberService.warmUp();
+        assertEquals(Set.of("DIRECT001V"), nicNumberService.findExisting(List.of("DIRECT001V")));
+
+        // Repeated warm-ups do not count a NIC twice: the warm-up row, 3 customers, 3 family members, the SQL row
+        assertEquals(8, gauge("customer.nic.filter.entries"));
+        assertEquals(1000, gauge("customer.nic.filter.expected.entries"));
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    private void insert(long id, String nicNumber) {
+        jdbcTemplate.update("INSERT INTO customers (id, name, date_of_birth, nic_number, created_at, updated_at) " +
+            "VALUES (?, 'Direct', DATE '1990-01-01', ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", id, nicNumber);
+    }
+}
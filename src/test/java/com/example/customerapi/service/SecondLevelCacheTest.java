@@ -0,0 +1,98 @@
+package com.example.customerapi.service;
+
+import com.example.customerapi.entity.Customer;
+import com.example.customerapi.repository.CountryRepository;
+import com.example.customerapi.repository.CustomerRepository;
+import com.example.customerapi.support.CustomerWorkbooks;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:second-level-cache;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        if (customerRepository.count() == 0) {
+            customerService.bulkCreateCustomers(CustomerWorkbooks.customers(1, 5, true));
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void repeatedCustomerReadsComeFromTheCache() {
+        Long id = customerRepository.findByNicNumber("000000003V").orElseThrow().getId();
+        loadCustomerGraph(id);
+
+        statistics.clear();
+        String name = loadCustomerGraph(id);
+
+        assertEquals("Customer 3", name);
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+    }
+
+    @Test
+    void updatesAreVisibleThroughTheCache() {
+        Long id = customerRepository.findByNicNumber("000000004V").orElseThrow().getId();
+        loadCustomerGraph(id);
+
+        transactionTemplate.executeWithoutResult(status ->
+            customerRepository.findById(id).orElseThrow().setName("Renamed"));
+
+        assertEquals("Renamed", loadCustomerGraph(id));
+    }
+
+    @Test
+    void countryLookupByCodeUsesTheQueryCache() {
+        transactionTemplate.executeWithoutResult(status -> countryRepository.findByCode("UK").orElseThrow());
+
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> countryRepository.findByCode("UK").orElseThrow());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    private String loadCustomerGraph(Long id) {
+        return transactionTemplate.execute(status -> {
+            Customer customer = customerService.getCustomerById(id);
+            customer.getMobileNumbers().size();
+            customer.getAddresses().forEach(address -> address.getCity().getName());
+            customer.getFamilyMembers().size();
+            return customer.getName();
+        });
+    }
+}
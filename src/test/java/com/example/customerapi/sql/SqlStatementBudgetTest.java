@@ -0,0 +1,88 @@
+package com.example.customerapi.sql;
+
+import com.example.customerapi.service.CustomerService;
+import com.example.customerapi.support.CustomerWorkbooks;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Upper bounds on the SQL statements per request, read from the statement-count header.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:sql-budget;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false",
+    "customerapi.sql-budget.max-statements=6"
+})
+@ActiveProfiles("test")
+@ExtendWith(OutputCaptureExtension.class)
+class SqlStatementBudgetTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @BeforeEach
+    void seed() throws IOException {
+        if (customerService.getTotalCustomerCount() == 0) {
+            customerService.bulkCreateCustomers(CustomerWorkbooks.customers(1, 500, true));
+        }
+    }
+
+    @Test
+    void listOfThousandCustomersStaysWithinFiveStatements() {
+        ResponseEntity<String> response = restTemplate.getForEntity("/api/customers/list?size=1000", String.class);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertTrue(statements(response) <= 5, "/list?size=1000 executed " + statements(response) + " statements");
+    }
+
+    @Test
+    void customerViewStaysWithinBudget() {
+        ResponseEntity<String> response = restTemplate.getForEntity("/api/customers/view/1", String.class);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertTrue(statements(response) <= 4, "/view/1 executed " + statements(response) + " statements");
+    }
+
+    @Test
+    void requestsOverBudgetAreLogged(CapturedOutput output) throws IOException {
+        MockMultipartFile workbook = CustomerWorkbooks.customers(10_001, 100, false);
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        body.add("file", new ByteArrayResource(workbook.getBytes()) {
+            @Override
+            public String getFilename() {
+                return workbook.getOriginalFilename();
+            }
+        });
+
+        ResponseEntity<String> response = restTemplate.postForEntity("/api/customers/bulk/create", body, String.class);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertTrue(statements(response) > 6);
+        assertTrue(output.getOut().contains("POST /api/customers/bulk/create executed " + statements(response)
+            + " SQL statements"), "budget warning logged");
+    }
+
+    private static long statements(ResponseEntity<?> response) {
+        return Long.parseLong(response.getHeaders().getFirst(SqlStatementBudgetFilter.STATEMENTS_HEADER));
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.customerapi.support;
+
+import com.example.customerapi.excel.CustomerTemplate;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Builds bulk-import workbooks in the template layout for tests.
+ */
+public final class CustomerWorkbooks {
+
+    private CustomerWorkbooks() {
+    }
+
+    /**
+     * One row per customer, each with a mobile number, an address in London and (when
+     * {@code withFamilyMembers} is set) one family member. NIC and mobile numbers are derived
+     * from {@code firstIndex} so several workbooks can be imported into the same database.
+     */
+    public static MockMultipartFile customers(int firstIndex, int count, boolean withFamilyMembers) throws IOException {
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(100)) {
+            Sheet sheet = workbook.createSheet("Customers");
+            sheet.createRow(0).createCell(0).setCellValue("Name");
+            for (int i = 1; i <= count; i++) {
+                String[] cells = row(firstIndex + i - 1, withFamilyMembers);
+                Row row = sheet.createRow(i);
+                for (int c = 0; c < cells.length; c++) {
+                    if (cells[c] != null) {
+                        row.createCell(c).setCellValue(cells[c]);
+                    }
+                }
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            workbook.write(out);
+            workbook.dispose();
+            return new MockMultipartFile("file", "customers.xlsx",
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", out.toByteArray());
+        }
+    }
+
+    /**
+     * The same customers as {@link #customers(int, int, boolean)}, as a CSV file with the
+     * template header.
+     */
+    public static MockMultipartFile customersCsv(int firstIndex, int count, boolean withFamilyMembers) {
+        StringBuilder csv = new StringBuilder(String.join(",", CustomerTemplate.HEADERS)).append("\r\n");
+        for (int i = 1; i <= count; i++) {
+            String[] cells = row(firstIndex + i - 1, withFamilyMembers);
+            for (int c = 0; c < cells.length; c++) {
+                if (c > 0) {
+                    csv.append(',');
+                }
+                if (cells[c] != null) {
+                    csv.append(cells[c]);
+                }
+            }
+            csv.append("\r\n");
+        }
+        return new MockMultipartFile("file", "customers.csv", "text/csv", csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] row(int n, boolean withFamilyMembers) {
+        String[] cells = new String[CustomerTemplate.COLUMN_COUNT];
+        cells[0] = "Customer " + n;
+        cells[1] = "1990-01-01";
+        cells[2] = String.format("%09dV", n);
+        cells[3] = String.format("+9477%07d", n);
+        cells[4] = n + " Main Street";
+        cells[5] = "";
+        cells[6] = "London";
+        cells[7] = "United Kingdom";
+        cells[8] = "UK";
+        if (withFamilyMembers) {
+            cells[9] = "Relative " + n;
+            cells[10] = "1960-01-01";
+            cells[11] = String.format("%09dX", n);
+        }
+        return cells;
+    }
+}
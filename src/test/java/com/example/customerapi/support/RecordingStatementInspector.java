@@ -0,0 +1,36 @@
+package com.example.customerapi.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Collects the SQL Hibernate prepares on the current thread while {@link #record(Supplier)} runs.
+ * Enable it with {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ */
+public class RecordingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    public static List<String> record(Supplier<?> action) {
+        List<String> statements = new ArrayList<>();
+        RECORDED.set(statements);
+        try {
+            action.get();
+        } finally {
+            RECORDED.remove();
+        }
+        return statements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = RECORDED.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+}